@@ -0,0 +1,41 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import jpabook.jpashop.JpashopApplication;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * - 웹 서버 없이 띄우고, 매 실행마다 새로운 in-memory H2 를 사용한다.
+ * - SQL 로그는 측정값을 왜곡하므로 모두 끈다.
+ */
+public final class BenchmarkApplication {
+
+	private BenchmarkApplication() {
+	}
+
+	public static ConfigurableApplicationContext start(String... extraProperties) {
+		List<String> properties = new ArrayList<>(List.of(
+			"spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+			"spring.datasource.username=sa",
+			"spring.datasource.password=",
+			"spring.jpa.hibernate.ddl-auto=create",
+			"spring.jpa.properties.hibernate.format_sql=false",
+			"spring.devtools.restart.enabled=false",
+			"decorator.datasource.p6spy.enable-logging=false",
+			"logging.level.root=warn",
+			"logging.level.org.hibernate.SQL=off"
+		));
+		properties.addAll(List.of(extraProperties));
+
+		return new SpringApplicationBuilder(JpashopApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties(properties.toArray(String[]::new))
+			.run();
+	}
+}
@@ -0,0 +1,120 @@
+package jpabook.jpashop.benchmark;
+
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import jpabook.jpashop.service.importer.BulkImportService;
+import jpabook.jpashop.service.importer.ImportFormat;
+import jpabook.jpashop.service.importer.ImportReport;
+
+/**
+ * 회원/상품 대량 등록 처리량 (POST /api/import/** 와 같은 경로, HTTP 제외)
+ * - 한 번 실행에 rows 줄짜리 CSV 를 등록한다. 파일은 메모리에 만들지 않고 Reader 가 한 줄씩 만들어 준다.
+ * - chunkSize 별로 비교한다. (트랜잭션/JDBC 배치 하나에 INSERT 하는 줄 수)
+ * - TearDown 에서 마지막 실행의 rows/s 를 출력한다.
+ * 👉 ./gradlew jmh -PjmhIncludes=BulkImportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkImportBenchmark {
+
+	@Param({"100000"})
+	private int rows;
+
+	@Param({"100", "1000"})
+	private int chunkSize;
+
+	private ConfigurableApplicationContext context;
+	private BulkImportService bulkImportService;
+
+	private int run;
+	private ImportReport lastReport;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start("jpashop.import.chunk-size=" + chunkSize); // JDBC 배치 크기도 chunkSize
+		bulkImportService = context.getBean(BulkImportService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown(BenchmarkParams params) {
+		System.out.printf("%n[%s chunkSize=%d] rows=%d, imported=%d, %d rows/s%n",
+			params.getBenchmark(), chunkSize, lastReport.getRows(), lastReport.getImported(),
+			lastReport.getRowsPerSecond());
+		context.close();
+	}
+
+	@Benchmark
+	public ImportReport importMembers() {
+		String prefix = "run" + run++ + "-member"; // member.name 은 유니크
+		lastReport = bulkImportService.importMembers(
+			new GeneratedCsv("name,city,street,zipcode", i -> prefix + i + ",서울,street" + i + ",zip" + i, rows),
+			ImportFormat.CSV);
+		return lastReport;
+	}
+
+	@Benchmark
+	public ImportReport importBooks() {
+		lastReport = bulkImportService.importBooks(
+			new GeneratedCsv("name,price,stockQuantity,author,isbn", i -> "book" + i + "," + (10000 + i % 1000) + ",100,kim,isbn" + i, rows),
+			ImportFormat.CSV);
+		return lastReport;
+	}
+
+	/**
+	 * 헤더 + rows 줄을 필요할 때 한 줄씩 만드는 Reader (업로드 스트림 대신)
+	 */
+	private static final class GeneratedCsv extends Reader {
+
+		private final IntFunction<String> line;
+		private final int rows;
+
+		private String current;
+		private int position;
+		private int next;
+
+		private GeneratedCsv(String header, IntFunction<String> line, int rows) {
+			this.line = line;
+			this.rows = rows;
+			this.current = header + "\n";
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length) {
+			int written = 0;
+			while (written < length) {
+				if (position == current.length()) {
+					if (next == rows) {
+						break;
+					}
+					current = line.apply(next++) + "\n";
+					position = 0;
+				}
+				int count = Math.min(length - written, current.length() - position);
+				current.getChars(position, position + count, buffer, offset + written);
+				position += count;
+				written += count;
+			}
+			return written == 0 ? -1 : written;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
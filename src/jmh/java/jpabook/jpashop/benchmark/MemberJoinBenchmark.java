@@ -0,0 +1,66 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.member.MemberNameFilter;
+
+/**
+ * 회원 가입 처리량 (기존 회원 memberCount 명)
+ * - filterEnabled=false : 가입마다 findByName 으로 중복 조회 후 INSERT (uk_member_name 인덱스 조회)
+ * - filterEnabled=true  : MemberNameFilter 가 처음 보는 이름이라고 하면 조회 없이 INSERT
+ * 👉 가입하는 이름은 모두 새 이름이다. (대부분의 실제 가입)
+ * 👉 ./gradlew jmh -PjmhIncludes=MemberJoinBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberJoinBenchmark {
+
+	@Param({"1000000"})
+	private int memberCount;
+
+	@Param({"false", "true"})
+	private boolean filterEnabled;
+
+	private ConfigurableApplicationContext context;
+	private MemberService memberService;
+
+	private long sequence;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start(
+			"jpashop.member.name-filter.enabled=" + filterEnabled,
+			"jpashop.member.name-filter.expected-insertions=" + memberCount * 2L); // 측정 중 가입하는 회원까지
+
+		new OrderDataSeeder(context).seed(memberCount, 1, 0, 1); // 회원명 member0 ~ member{memberCount-1}
+		context.getBean(MemberNameFilter.class).load(); // 기동 후에 넣은 회원명까지 다시 읽는다.
+
+		memberService = context.getBean(MemberService.class);
+		sequence = 0;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Long join() {
+		return memberService.join(new Member("signup-" + sequence++));
+	}
+}
@@ -0,0 +1,86 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jpabook.jpashop.service.catalog.NameMatch;
+import jpabook.jpashop.service.catalog.NamePrefixIndex;
+
+/**
+ * 이름 자동완성 인덱스 (NamePrefixIndex)
+ * - search : 2~4 글자 prefix 로 top-10
+ * - put    : 이름 변경 (overlay 에 쌓이다가 4096 건마다 base 로 합쳐진다. 합치는 비용까지 평균에 포함)
+ * - Setup 에서 "footprint bytes/name" 와 100만 건 기준 크기를 출력한다.
+ * 👉 ./gradlew jmh -PjmhIncludes=NamePrefixIndexBenchmark -PjmhParams=size=1000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NamePrefixIndexBenchmark {
+
+	private static final String[] WORDS = {
+		"JPA", "Spring", "Java", "Kotlin", "Hibernate", "Book", "Album", "Movie", "시골", "개발자", "Guide", "Effective"
+	};
+
+	@Param({"100000", "1000000"})
+	private int size;
+
+	private NamePrefixIndex index;
+	private String[] prefixes;
+	private Random random;
+	private long nextId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		random = new Random(42);
+
+		long[] ids = new long[size];
+		String[] names = new String[size];
+		for (int i = 0; i < size; i++) {
+			ids[i] = i;
+			names[i] = randomName();
+		}
+
+		index = NamePrefixIndex.empty();
+		index.load(ids, names);
+
+		prefixes = new String[1024];
+		for (int i = 0; i < prefixes.length; i++) {
+			String name = names[random.nextInt(size)];
+			prefixes[i] = name.substring(0, Math.min(name.length(), 2 + random.nextInt(3)));
+		}
+
+		long bytes = index.footprintBytes();
+		System.out.printf("%n[size=%d] footprint = %d bytes, %.1f bytes/name, %.1f MB per 1M names%n",
+			size, bytes, (double)bytes / size, (double)bytes / size * 1_000_000 / (1024 * 1024));
+		nextId = size;
+	}
+
+	@Benchmark
+	public List<NameMatch> search() {
+		return index.search(prefixes[random.nextInt(prefixes.length)], 10);
+	}
+
+	@Benchmark
+	public void put() {
+		index.put(random.nextInt(size), randomName()); // 기존 이름 변경
+		if (random.nextInt(10) == 0) {
+			index.put(nextId++, randomName()); // 10번에 1번 신규
+		}
+	}
+
+	private String randomName() {
+		return WORDS[random.nextInt(WORDS.length)] + random.nextInt(100_000) + " " + WORDS[random.nextInt(WORDS.length)];
+	}
+}
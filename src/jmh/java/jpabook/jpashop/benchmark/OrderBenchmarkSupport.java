@@ -0,0 +1,77 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 주문 조회 벤치마크 공통 설정
+ * - 데이터 규모는 @Param 으로 조절한다. 👉 ./gradlew jmh -PjmhParams=orderCount=100000,memberCount=10000
+ * - SQL 실행 수는 Hibernate Statistics 로 세고, SqlStatementCounter(@AuxCounters) 로 결과표에 함께 보고한다.
+ */
+@State(Scope.Benchmark)
+public abstract class OrderBenchmarkSupport {
+
+	@Param({"500"})
+	protected int memberCount;
+
+	@Param({"100"})
+	protected int itemCount;
+
+	@Param({"1000"})
+	protected int orderCount;
+
+	@Param({"2"})
+	protected int itemsPerOrder;
+
+	@Param({"100"})
+	protected int pageSize;
+
+	protected ConfigurableApplicationContext context;
+
+	private TransactionTemplate readOnlyTx;
+	private Statistics statistics;
+
+	@Setup(Level.Trial)
+	public void setUpContext() {
+		context = BenchmarkApplication.start("spring.jpa.properties.hibernate.generate_statistics=true");
+		new OrderDataSeeder(context).seed(memberCount, itemCount, orderCount, itemsPerOrder);
+
+		readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		readOnlyTx.setReadOnly(true);
+
+		setUpBeans();
+
+		statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+	}
+
+	protected abstract void setUpBeans();
+
+	@TearDown(Level.Trial)
+	public void tearDownContext() {
+		context.close();
+	}
+
+	/**
+	 * 엔티티 LAZY 로딩이 필요하므로 OSIV 대신 읽기 전용 트랜잭션 안에서 실행한다.
+	 */
+	protected Object inReadOnlyTx(SqlStatementCounter counter, Supplier<?> query) {
+		return counter.count(statistics, () -> readOnlyTx.execute(status -> query.get()));
+	}
+
+	protected <T> T withoutCounting(Supplier<T> query) {
+		return readOnlyTx.execute(status -> query.get());
+	}
+}
@@ -0,0 +1,89 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.order.OrderSummary;
+import jpabook.jpashop.domain.type.Address;
+
+/**
+ * InitDb 를 규모만 키운 더미 데이터 생성기
+ * 회원 memberCount 명, 상품 itemCount 개, 주문 orderCount 건(주문당 상품 itemsPerOrder 개)
+ */
+public class OrderDataSeeder {
+
+	private static final int FLUSH_SIZE = 500;
+
+	private final EntityManager em;
+	private final TransactionTemplate tx;
+
+	public OrderDataSeeder(ApplicationContext context) {
+		this.em = context.getBean(EntityManager.class);
+		this.tx = context.getBean(TransactionTemplate.class);
+	}
+
+	public void seed(int memberCount, int itemCount, int orderCount, int itemsPerOrder) {
+		List<Long> memberIds = tx.execute(status -> {
+			List<Long> ids = new ArrayList<>(memberCount);
+			for (int i = 0; i < memberCount; i++) {
+				Member member = new Member("member" + i);
+				member.setAddress(new Address("서울", "street" + i, "zip" + i));
+				em.persist(member);
+				ids.add(member.getId());
+				flushAndClearIfNeeded(i);
+			}
+			return ids;
+		});
+
+		List<Long> itemIds = tx.execute(status -> {
+			List<Long> ids = new ArrayList<>(itemCount);
+			for (int i = 0; i < itemCount; i++) {
+				Book book = new Book();
+				book.setName("book" + i);
+				book.setPrice(10000 + i);
+				book.setStockQuantity(Integer.MAX_VALUE / 2); // 시딩 중 재고 부족이 나지 않도록
+				em.persist(book);
+				ids.add(book.getId());
+				flushAndClearIfNeeded(i);
+			}
+			return ids;
+		});
+
+		tx.executeWithoutResult(status -> {
+			for (int i = 0; i < orderCount; i++) {
+				Member member = em.getReference(Member.class, memberIds.get(i % memberCount));
+
+				OrderItem[] orderItems = new OrderItem[itemsPerOrder];
+				for (int j = 0; j < itemsPerOrder; j++) {
+					Book book = em.find(Book.class, itemIds.get((i * itemsPerOrder + j) % itemCount));
+					orderItems[j] = OrderItem.createOrderItem(book, book.getPrice(), 1);
+				}
+
+				Delivery delivery = new Delivery();
+				delivery.setAddress(new Address("서울", "street" + i, "zip" + i));
+
+				Order order = Order.createOrder(member, delivery, orderItems);
+				em.persist(order);
+				em.persist(OrderSummary.from(order)); // 주문 목록 조회 모델 (OrderSummaryProjector 와 같은 내용)
+				flushAndClearIfNeeded(i);
+			}
+		});
+	}
+
+	private void flushAndClearIfNeeded(int index) {
+		if ((index + 1) % FLUSH_SIZE == 0) {
+			em.flush();
+			em.clear();
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.service.BulkOrderDto;
+import jpabook.jpashop.service.OrderService;
+
+/**
+ * 주문 INSERT 처리량 (ID 할당 block-size 별)
+ * - blockSize=1  : persist 마다 시퀀스 조회 (기존 @GeneratedValue 기본값과 같음)
+ * - blockSize=50 : PooledSequenceGenerator 기본값
+ * - persistOrders : InitDb 처럼 회원 + 주문(배송, 주문상품 2개)을 persist 한다. 👉 주문 하나에 엔티티 5개
+ * - orderBulk     : OrderService.orderBulk 로 ORDERS_PER_OP 건을 한 번에 주문한다.
+ * - sqlStatements : SqlStatementCounter(@AuxCounters) 👉 ÷ 주 지표(orders/s) = 주문당 SQL 수
+ * 👉 ./gradlew jmh -PjmhIncludes=OrderInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderInsertBenchmark {
+
+	private static final int ORDERS_PER_OP = 100;
+
+	@Param({"1", "50"})
+	private int blockSize;
+
+	private ConfigurableApplicationContext context;
+	private EntityManager em;
+	private TransactionTemplate tx;
+	private OrderService orderService;
+	private Statistics statistics;
+
+	private Long memberId;
+	private Long bookId1;
+	private Long bookId2;
+
+	private long orders;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start(
+			"spring.jpa.properties.jpashop.id.block-size=" + blockSize,
+			"spring.jpa.properties.hibernate.generate_statistics=true");
+
+		em = context.getBean(EntityManager.class);
+		tx = context.getBean(TransactionTemplate.class);
+		orderService = context.getBean(OrderService.class);
+		statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+		tx.executeWithoutResult(status -> {
+			Member member = createMember("bench-member");
+			em.persist(member);
+			Book book1 = createBook("bench-book1");
+			em.persist(book1);
+			Book book2 = createBook("bench-book2");
+			em.persist(book2);
+
+			memberId = member.getId();
+			bookId1 = book1.getId();
+			bookId2 = book2.getId();
+		});
+
+		orders = 0;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ORDERS_PER_OP)
+	public void persistOrders(SqlStatementCounter counter) {
+		counter.count(statistics, () -> tx.execute(status -> {
+			Book book1 = em.find(Book.class, bookId1);
+			Book book2 = em.find(Book.class, bookId2);
+
+			for (int i = 0; i < ORDERS_PER_OP; i++) {
+				Member member = createMember("member" + orders + "-" + i); // member.name 은 유니크
+				em.persist(member);
+
+				Delivery delivery = new Delivery();
+				delivery.setAddress(member.getAddress());
+
+				em.persist(Order.createOrder(member, delivery,
+					OrderItem.createReservedOrderItem(book1, book1.getPrice(), 1),
+					OrderItem.createReservedOrderItem(book2, book2.getPrice(), 2)));
+			}
+			return null;
+		}));
+		orders += ORDERS_PER_OP;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ORDERS_PER_OP)
+	public Object orderBulk(SqlStatementCounter counter) {
+		List<BulkOrderDto> request = new ArrayList<>(ORDERS_PER_OP);
+		for (int i = 0; i < ORDERS_PER_OP; i++) {
+			request.add(new BulkOrderDto(memberId, List.of(
+				new BulkOrderDto.Line(bookId1, 1),
+				new BulkOrderDto.Line(bookId2, 2))));
+		}
+		orders += ORDERS_PER_OP;
+		return counter.count(statistics, () -> orderService.orderBulk(request));
+	}
+
+	private Member createMember(String name) {
+		Member member = new Member(name);
+		member.setAddress(new Address("서울", "1", "1111"));
+		return member;
+	}
+
+	private Book createBook(String name) {
+		Book book = new Book();
+		book.setName(name);
+		book.setPrice(10000);
+		book.setStockQuantity(Integer.MAX_VALUE / 2); // 측정 중 재고 부족이 나지 않도록
+		return book;
+	}
+}
@@ -0,0 +1,84 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import jpabook.jpashop.api.OrderApiController;
+import jpabook.jpashop.repository.OrderRepository;
+
+/**
+ * 주문 컬렉션(Order -> OrderItem -> Item) 조회 전략 비교
+ * - v2   : 엔티티 -> DTO, LAZY 로딩 (batch fetch 로 1 + 1 + 1 + ToOne, 최대 1000건)
+ * - v3   : Order ID 페이징 -> 컬렉션 페치조인 (1 + 1)
+ * - v3.1 : ToOne 페치조인 + OrderItem, Item batch fetch (1 + 1 + 1)
+ * - v3.2 : v3.1 + keyset 페이징
+ * - v5   : DTO 직접 조회 + OrderItem IN 쿼리 (1 + 1, keyset 페이징)
+ * - v6   : flat 조인 한 번 + 애플리케이션에서 묶기 (1)
+ *
+ * 결과 읽는 법
+ * - Throughput(ops/s), SampleTime(p0.99), gc 프로파일러의 gc.alloc.rate.norm(B/op), 그리고 sqlStatements(Throughput 결과에만 나온다. 👉 ÷ ops = op 당 SQL 수)를 같이 본다.
+ * - 페이지 단위 조회는 v3.1/v3.2 가 기본값이다. (쿼리 수는 고정, 전송량 최소, 엔티티 재사용 가능)
+ * - 주문당 상품 수(itemsPerOrder)가 적고 라운드트립 비용이 크면 v6, 주문당 상품 수가 많으면 v5 가 유리하다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderQueryBenchmark extends OrderBenchmarkSupport {
+
+	private OrderApiController controller;
+	private Long lastPageAfterOrderId;
+
+	@Override
+	protected void setUpBeans() {
+		controller = context.getBean(OrderApiController.class);
+
+		// offset 페이징의 마지막 페이지와 같은 위치를 keyset 으로 조회하기 위한 기준 ID
+		// 👉 주문이 pageSize 건 이하면 마지막 페이지가 첫 페이지다. (기준 ID 없이 처음부터)
+		int offset = lastPageOffset() - 1;
+		OrderRepository orderRepository = context.getBean(OrderRepository.class);
+		lastPageAfterOrderId = offset < 0 ? null
+			: withoutCounting(() -> orderRepository.findAllWithMemberDelivery(offset, 1)).get(0).getId();
+	}
+
+	@Benchmark
+	public Object v2_lazyLoading(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> controller.ordersV2());
+	}
+
+	@Benchmark
+	public Object v3_collectionFetchJoin(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> controller.ordersV3(0, pageSize));
+	}
+
+	@Benchmark
+	public Object v3_1_batchFetch(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> controller.ordersV3_page(0, pageSize));
+	}
+
+	@Benchmark
+	public Object v3_1_batchFetch_lastPage(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> controller.ordersV3_page(lastPageOffset(), pageSize));
+	}
+
+	@Benchmark
+	public Object v3_2_keyset_lastPage(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> controller.ordersV3_cursor(null, lastPageAfterOrderId, pageSize));
+	}
+
+	@Benchmark
+	public Object v5_dtoInQuery(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> controller.ordersV5(0, pageSize));
+	}
+
+	@Benchmark
+	public Object v6_flat(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> controller.ordersV6(0, pageSize));
+	}
+
+	private int lastPageOffset() {
+		return Math.max(0, orderCount - pageSize);
+	}
+}
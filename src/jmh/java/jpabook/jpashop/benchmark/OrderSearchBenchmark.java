@@ -0,0 +1,76 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import jpabook.jpashop.domain.order.OrderStatus;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+
+/**
+ * 주문 동적 검색 비교 (회원명 + 주문상태, 같은 조건)
+ * - findAll           : 고정 JPQL, null 조건을 처리하지 못한다.
+ * - findAllByString   : 호출마다 JPQL 문자열을 이어 붙인다.
+ * - findAllByCriteria : 호출마다 Criteria 를 새로 만들고 JPQL 로 렌더링한다.
+ * - search            : 조건 모양별로 캐시한 JPQL + 파라미터 바인딩 (회원/배송 페치조인 포함)
+ * - summaries         : search 와 같은 조건으로 주문 목록 조회 모델(order_summary) 한 테이블만 읽는다.
+ *
+ * 👉 findAll/findAllByString 은 회원명을 그대로 like 에 넣으므로 "member1%" 를 넘겨서 같은 결과가 나오게 한다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderSearchBenchmark extends OrderBenchmarkSupport {
+
+	private OrderRepository orderRepository;
+	private OrderSummaryRepository orderSummaryRepository;
+
+	@Override
+	protected void setUpBeans() {
+		orderRepository = context.getBean(OrderRepository.class);
+		orderSummaryRepository = context.getBean(OrderSummaryRepository.class);
+	}
+
+	@Benchmark
+	public Object findAll(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> orderRepository.findAll(likeSearch()));
+	}
+
+	@Benchmark
+	public Object findAllByString(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> orderRepository.findAllByString(likeSearch()));
+	}
+
+	@Benchmark
+	public Object findAllByCriteria(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> orderRepository.findAllByCriteria(prefixSearch()));
+	}
+
+	@Benchmark
+	public Object search(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> orderRepository.search(prefixSearch()));
+	}
+
+	@Benchmark
+	public Object summaries(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> orderSummaryRepository.search(prefixSearch()));
+	}
+
+	private OrderSearch likeSearch() {
+		OrderSearch orderSearch = new OrderSearch();
+		orderSearch.setMemberName("member1%");
+		orderSearch.setOrderStatus(OrderStatus.ORDER);
+		return orderSearch;
+	}
+
+	private OrderSearch prefixSearch() {
+		OrderSearch orderSearch = new OrderSearch();
+		orderSearch.setMemberName("member1");
+		orderSearch.setOrderStatus(OrderStatus.ORDER);
+		return orderSearch;
+	}
+}
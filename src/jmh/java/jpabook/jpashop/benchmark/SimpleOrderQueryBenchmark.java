@@ -0,0 +1,45 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import jpabook.jpashop.api.OrderSimpleApi;
+
+/**
+ * XToOne(Order -> Member, Delivery) 조회 전략 비교 (전체 주문)
+ * - v2 : 엔티티 -> DTO, LAZY 로딩 (1 + 회원 N + 배송 N, batch fetch 설정 시 IN 쿼리로 줄어든다.)
+ * - v3 : 페치조인 (1)
+ * - v4 : DTO 직접 조회 (1, 필요한 컬럼만)
+ *
+ * 👉 v3 와 v4 의 차이가 작으면 재사용성이 좋은 v3 를 선택한다. (OrderSimpleQueryRepository 주석 참고)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimpleOrderQueryBenchmark extends OrderBenchmarkSupport {
+
+	private OrderSimpleApi api;
+
+	@Override
+	protected void setUpBeans() {
+		api = context.getBean(OrderSimpleApi.class);
+	}
+
+	@Benchmark
+	public Object v2_lazyLoading(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> api.ordersV2());
+	}
+
+	@Benchmark
+	public Object v3_fetchJoin(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> api.ordersV3());
+	}
+
+	@Benchmark
+	public Object v4_dto(SqlStatementCounter counter) {
+		return inReadOnlyTx(counter, () -> api.ordersV4());
+	}
+}
@@ -0,0 +1,38 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.function.Supplier;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SQL 실행 수 보조 지표 (JMH @AuxCounters)
+ * - 벤치마크 메서드 파라미터로 받아서 측정 구간의 Hibernate prepareStatement 수를 더한다.
+ * - OPERATIONS 타입이라 주 지표와 같은 단위(ops/시간)로 "sqlStatements" 행이 결과표에 함께 나온다.
+ *   👉 sqlStatements / 주 지표(Throughput) = op 당 SQL 수
+ * - JMH 가 Iteration 마다 값을 모으므로 Iteration 시작 때 0 으로 되돌린다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class SqlStatementCounter {
+
+	public long sqlStatements;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		sqlStatements = 0;
+	}
+
+	<T> T count(Statistics statistics, Supplier<T> work) {
+		long before = statistics.getPrepareStatementCount();
+		try {
+			return work.get();
+		} finally {
+			sqlStatements += statistics.getPrepareStatementCount() - before;
+		}
+	}
+}
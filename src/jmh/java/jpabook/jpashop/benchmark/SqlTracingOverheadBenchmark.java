@@ -0,0 +1,87 @@
+package jpabook.jpashop.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.p6spy.engine.spy.P6DataSource;
+
+import jpabook.jpashop.monitoring.SampledSqlTracer;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * JDBC 호출 한 번(PK 조회)에 SQL 추적이 붙이는 오버헤드
+ * - plain    : H2 DataSource 그대로
+ * - p6spy    : P6DataSource + Slf4JLogger (기존 설정, 모든 SQL 을 동기로 포맷팅/로깅)
+ * - sampled  : datasource-proxy + SampledSqlTracer (1/100 샘플링, 링 버퍼)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlTracingOverheadBenchmark {
+
+	@Param({"plain", "p6spy", "sampled"})
+	private String tracing;
+
+	private Connection connection;
+	private PreparedStatement statement;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:tracing-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+		h2.setUser("sa");
+
+		connection = wrap(h2).getConnection();
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("create table item (item_id bigint primary key, name varchar(255), price int)");
+			ddl.execute("insert into item values (1, 'JPA1 Book', 10000)");
+		}
+		statement = connection.prepareStatement("select item_id, name, price from item where item_id = ?");
+	}
+
+	private DataSource wrap(DataSource dataSource) {
+		return switch (tracing) {
+			case "p6spy" -> {
+				System.setProperty("p6spy.config.appender", "com.p6spy.engine.spy.appender.Slf4JLogger");
+				yield new P6DataSource(dataSource);
+			}
+			case "sampled" -> ProxyDataSourceBuilder.create(dataSource)
+				.listener(new SampledSqlTracer(true, 100, 200, 1024))
+				.build();
+			default -> dataSource;
+		};
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		statement.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public int selectByPk() throws SQLException {
+		statement.setLong(1, 1L);
+		try (ResultSet rs = statement.executeQuery()) {
+			rs.next();
+			return rs.getInt(3);
+		}
+	}
+}
@@ -12,6 +12,7 @@ import jpabook.jpashop.domain.member.Member;
 import jpabook.jpashop.domain.order.Order;
 import jpabook.jpashop.domain.order.OrderItem;
 import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.service.summary.OrderSummaryProjector;
 import lombok.RequiredArgsConstructor;
 
 /*
@@ -46,6 +47,7 @@ public class InitDb {
 	static class InitService {
 
 		private final EntityManager em;
+		private final OrderSummaryProjector orderSummaryProjector;
 
 		public void dbInit1() {
 			Member member = createMember("userA", "서울", "1", "1111	");
@@ -62,6 +64,7 @@ public class InitDb {
 			Delivery delivery = createDelivery(member);
 			Order order = Order.createOrder(member, delivery, orderItem1, orderItem2);
 			em.persist(order);
+			orderSummaryProjector.created(order);
 		}
 
 		public void dbInit2() {
@@ -79,6 +82,7 @@ public class InitDb {
 			Delivery delivery = createDelivery(member);
 			Order order = Order.createOrder(member, delivery, orderItem1, orderItem2);
 			em.persist(order);
+			orderSummaryProjector.created(order);
 		}
 
 		private Member createMember(String name, String city, String street, String zipcode) {
@@ -0,0 +1,48 @@
+package jpabook.jpashop.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품/회원 검색의 (name, id) Keyset 페이징 continuation token
+ * 이름에 ':' 가 들어갈 수 있으므로 id 를 앞에 둔다. 👉 "{id}:{name}"
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class CatalogCursor {
+
+	private final Long id;
+	private final String name;
+
+	static String encode(Long id, String name) {
+		byte[] raw = (id + ":" + name).getBytes(StandardCharsets.UTF_8);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+	}
+
+	/**
+	 * @return cursor 가 없으면(첫 페이지) 빈 커서
+	 */
+	static CatalogCursor decode(String cursor) {
+		if (cursor == null) {
+			return new CatalogCursor(null, null);
+		}
+
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(':');
+			if (separator < 0) {
+				throw new IllegalArgumentException("unknown cursor: " + cursor);
+			}
+			return new CatalogCursor(Long.valueOf(raw.substring(0, separator)), raw.substring(separator + 1));
+		} catch (IllegalArgumentException e) { // NumberFormatException 포함
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor 입니다.", e);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package jpabook.jpashop.api;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jpabook.jpashop.repository.catalog.query.CatalogQueryRepository;
+import jpabook.jpashop.repository.catalog.query.ItemOptionDto;
+import jpabook.jpashop.repository.catalog.query.ItemSearch;
+import jpabook.jpashop.repository.catalog.query.MemberOptionDto;
+import jpabook.jpashop.service.catalog.CatalogNameIndex;
+import jpabook.jpashop.service.catalog.NameMatch;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품/회원 typeahead 검색 (이름 prefix + Keyset 페이징, 자동완성)
+ * - 전체 목록(findAll) 대신 필요한 만큼만 (id, name ...) 으로 조회한다.
+ * - 다음 페이지: 응답의 nextCursor 를 그대로 cursor 로 넘긴다. (마지막 페이지면 nextCursor == null)
+ */
+@RestController
+@RequiredArgsConstructor
+public class CatalogSearchApi {
+
+	private static final int MAX_LIMIT = 100;
+
+	private final CatalogQueryRepository catalogQueryRepository;
+	private final CatalogNameIndex catalogNameIndex;
+
+	// 예) /api/items/search?namePrefix=JPA&minPrice=10000&inStockOnly=true&limit=20
+	@GetMapping("/api/items/search")
+	public CursorResult<List<ItemOptionDto>> searchItems(
+		@ModelAttribute ItemSearch itemSearch,
+		@RequestParam(value = "cursor", required = false) String cursor,
+		@RequestParam(value = "limit", defaultValue = "20") int limit
+	) {
+		CatalogCursor after = CatalogCursor.decode(cursor);
+		int pageSize = pageSize(limit);
+
+		// 다음 페이지 존재 여부를 알기 위해 1건 더 조회한다.
+		List<ItemOptionDto> items = catalogQueryRepository.searchItems(itemSearch, after.getName(), after.getId(),
+			pageSize + 1);
+
+		return page(items, pageSize, item -> CatalogCursor.encode(item.getId(), item.getName()));
+	}
+
+	// 예) /api/members/search?namePrefix=user&limit=20
+	@GetMapping("/api/members/search")
+	public CursorResult<List<MemberOptionDto>> searchMembers(
+		@RequestParam(value = "namePrefix", required = false) String namePrefix,
+		@RequestParam(value = "cursor", required = false) String cursor,
+		@RequestParam(value = "limit", defaultValue = "20") int limit
+	) {
+		CatalogCursor after = CatalogCursor.decode(cursor);
+		int pageSize = pageSize(limit);
+
+		List<MemberOptionDto> members = catalogQueryRepository.searchMembers(namePrefix, after.getName(), after.getId(),
+			pageSize + 1);
+
+		return page(members, pageSize, member -> CatalogCursor.encode(member.getId(), member.getName()));
+	}
+
+	/*
+		자동완성: 키 입력마다 호출되므로 DB 대신 메모리 인덱스(CatalogNameIndex)에서 찾는다.
+		예) /api/items/autocomplete?prefix=JP&k=10
+	 */
+	@GetMapping("/api/items/autocomplete")
+	public List<NameMatch> autocompleteItems(
+		@RequestParam("prefix") String prefix,
+		@RequestParam(value = "k", defaultValue = "10") int k
+	) {
+		return catalogNameIndex.searchItems(prefix, pageSize(k));
+	}
+
+	@GetMapping("/api/members/autocomplete")
+	public List<NameMatch> autocompleteMembers(
+		@RequestParam("prefix") String prefix,
+		@RequestParam(value = "k", defaultValue = "10") int k
+	) {
+		return catalogNameIndex.searchMembers(prefix, pageSize(k));
+	}
+
+	// 한 번에 읽는 행 수를 제한해서 응답 시간이 일정하게 유지되도록 한다.
+	private int pageSize(int limit) {
+		return Math.max(1, Math.min(limit, MAX_LIMIT));
+	}
+
+	private <T> CursorResult<List<T>> page(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+		boolean hasNext = rows.size() > pageSize;
+		List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+		String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+		return new CursorResult<>(page.size(), page, nextCursor);
+	}
+
+	@Data
+	@AllArgsConstructor
+	private static class CursorResult<T> {
+		private int count;
+		private T data;
+		private String nextCursor;
+	}
+}
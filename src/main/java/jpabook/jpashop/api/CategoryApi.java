@@ -0,0 +1,65 @@
+package jpabook.jpashop.api;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import jpabook.jpashop.repository.catalog.query.ItemOptionDto;
+import jpabook.jpashop.service.catalog.CategoryNode;
+import jpabook.jpashop.service.catalog.CategoryTree;
+import jpabook.jpashop.service.catalog.CategoryTreeService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카테고리 트리 탐색
+ * - 하위 트리/조상은 메모리 스냅샷에서 찾고(쿼리 0번), 상품은 IN 쿼리 1번 👉 카테고리 깊이와 상관없이 비용이 같다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CategoryApi {
+
+	private static final int MAX_LIMIT = 100;
+
+	private final CategoryTreeService categoryTreeService;
+
+	@GetMapping("/api/categories")
+	public List<CategoryNode> roots() {
+		return categoryTreeService.tree().roots();
+	}
+
+	// 자기 자신 포함, 전위 순회 (depth 로 들여쓰기)
+	@GetMapping("/api/categories/{id}/subtree")
+	public List<CategoryNode> subtree(@PathVariable("id") Long id) {
+		requireExists(id);
+		return categoryTreeService.subtree(id);
+	}
+
+	// 최상위부터 부모까지 (breadcrumb)
+	@GetMapping("/api/categories/{id}/ancestors")
+	public List<CategoryNode> ancestors(@PathVariable("id") Long id) {
+		requireExists(id);
+		return categoryTreeService.ancestors(id);
+	}
+
+	// 하위 카테고리까지 포함한 상품 (이름순)
+	@GetMapping("/api/categories/{id}/items")
+	public List<ItemOptionDto> items(
+		@PathVariable("id") Long id,
+		@RequestParam(value = "limit", defaultValue = "20") int limit
+	) {
+		requireExists(id);
+		return categoryTreeService.itemsUnder(id, Math.max(1, Math.min(limit, MAX_LIMIT)));
+	}
+
+	private void requireExists(Long id) {
+		CategoryTree tree = categoryTreeService.tree();
+		if (tree.find(id).isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "존재하지 않는 카테고리입니다.");
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package jpabook.jpashop.api;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import jpabook.jpashop.service.importer.BulkImportService;
+import jpabook.jpashop.service.importer.ImportFormat;
+import jpabook.jpashop.service.importer.ImportReport;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원/상품 대량 등록 (CSV, NDJSON)
+ * - 요청 본문을 그대로 스트림으로 읽는다. (multipart 로 한 번에 받지 않는다.)
+ *   👉 curl -X POST localhost:8080/api/import/members -H 'Content-Type: text/csv' --data-binary @members.csv
+ * - 성공한 chunk 는 커밋되고, 실패한 줄은 응답의 errors 에 줄 번호와 함께 내려준다.
+ * - 문자셋은 Content-Type 의 charset, 없으면 UTF-8
+ */
+@RestController
+@RequiredArgsConstructor
+public class ImportApi {
+
+	private final BulkImportService bulkImportService;
+
+	// 컬럼: name, city, street, zipcode
+	@PostMapping(value = "/api/import/members", consumes = {ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE})
+	public ImportReport importMembers(
+		@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+		InputStream body
+	) {
+		try {
+			return bulkImportService.importMembers(reader(body, contentType), ImportFormat.from(contentType));
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e); // CSV 헤더가 잘못된 경우
+		}
+	}
+
+	// 컬럼: name, price, stockQuantity, author, isbn
+	@PostMapping(value = "/api/import/books", consumes = {ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE})
+	public ImportReport importBooks(
+		@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+		InputStream body
+	) {
+		try {
+			return bulkImportService.importBooks(reader(body, contentType), ImportFormat.from(contentType));
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+	}
+
+	private Reader reader(InputStream body, MediaType contentType) {
+		Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+		return new InputStreamReader(body, charset);
+	}
+}
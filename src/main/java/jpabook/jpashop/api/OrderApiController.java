@@ -1,19 +1,53 @@
 package jpabook.jpashop.api;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import jpabook.jpashop.domain.order.Order;
 import jpabook.jpashop.domain.order.OrderItem;
 import jpabook.jpashop.domain.order.OrderStatus;
+import jpabook.jpashop.domain.order.OrderSummary;
 import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.BulkOrderDto;
+import jpabook.jpashop.service.BulkOrderResult;
+import jpabook.jpashop.service.OrderExportService;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.intake.OrderIntake;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +56,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OrderApiController {
 
+	private static final int MAX_LIMIT = 1000;
+	private static final int MAX_EXPORT_CHUNK_SIZE = 1000;
+
 	private final OrderRepository orderRepository;
+	private final OrderQueryRepository orderQueryRepository;
+	private final OrderExportService orderExportService;
+	private final OrderService orderService;
+	private final OrderIntake orderIntake;
+	private final ObjectMapper objectMapper;
 
 	@GetMapping("/api/v1/orders")
 	public List<Order> ordersV1() {
@@ -48,7 +90,10 @@ public class OrderApiController {
 	}
 
 	@GetMapping("/api/v3/orders")
-	public List<OrderDto> ordersV3() {
+	public List<OrderDto> ordersV3(
+		@RequestParam(value = "offset", defaultValue = "0") int offset,
+		@RequestParam(value = "limit", defaultValue = "100") int limit
+	) {
 		/*
 			Order, Member, Delivery, OrderItem, Item 전부 한 번에 조회하지만,
 			결국 DB상에서 결과 Row는 Order가 아닌 OrderItem 기준으로 뻥튀기 되어서 애플리케이션에 전달된다. (DB는 결과 Row를 앱으로 다 전송한다.)
@@ -58,10 +103,14 @@ public class OrderApiController {
 			반면에 Batch Size를 이용한 IN 쿼리의 경우 딱 최적화 된 Row 만 검색하기 때문에 용량 이슈 X
 			- "Select Order with Member, Delivery" 페치 조인 결과로 Row가 2건만 조회된다.(Order 자체가 2건이므로)
 		 */
-		List<Order> orders = orderRepository.findAllWithItem();
+		if (offset < 0) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset 은 0 이상이어야 합니다.");
+		}
+		List<Order> orders = orderRepository.findAllWithItem(offset, pageSize(limit)); // Order ID 페이징 -> ID IN 컬렉션 페치조인
 
 		// order 가 뻥튀기 되어서 원래 order는 2개만 있는데, 4개로 조회된다. (order당 orderitem이 2개이므로, join문에 의해 row가 4개가 됨)
 		// order_id | order_item_id | ...
+		// 👉 distinct 로 애플리케이션에서 Order 기준 중복을 제거한다. 페이징은 ID 조회 단계에서 DB가 처리한다.
 		List<OrderDto> result = orders.stream()
 			.map(OrderDto::new)
 			.collect(Collectors.toList());
@@ -151,6 +200,225 @@ public class OrderApiController {
 		return result;
 	}
 
+	/*
+		v3.1 과 같은 쿼리 구성(Order & Member & Delivery 페치조인 + OrderItem, Item IN 쿼리)이지만 offset 대신 Keyset 페이징을 사용한다.
+		- 첫 페이지: cursor, afterOrderId 없이 호출
+		- 다음 페이지: 응답의 nextCursor 를 그대로 cursor 로 넘긴다. (마지막 페이지면 nextCursor == null)
+	 */
+	@GetMapping("/api/v3.2/orders")
+	public CursorResult<List<OrderDto>> ordersV3_cursor(
+		@RequestParam(value = "cursor", required = false) String cursor,
+		@RequestParam(value = "afterOrderId", required = false) Long afterOrderId,
+		@RequestParam(value = "limit", defaultValue = "100") int limit
+	) {
+		Long after = cursor != null ? OrderCursor.decode(cursor) : afterOrderId;
+		int pageSize = pageSize(limit);
+
+		// 다음 페이지 존재 여부를 알기 위해 1건 더 조회한다.
+		List<Order> orders = orderRepository.findAllWithMemberDeliveryAfter(after, pageSize + 1);
+
+		boolean hasNext = orders.size() > pageSize;
+		List<Order> page = hasNext ? orders.subList(0, pageSize) : orders;
+
+		List<OrderDto> result = page.stream()
+			.map(OrderDto::new)
+			.toList();
+
+		String nextCursor = hasNext ? OrderCursor.encode(page.get(page.size() - 1).getId()) : null;
+		return new CursorResult<>(result.size(), result, nextCursor);
+	}
+
+	// 한 번에 읽는 주문 수를 제한한다. (limit=0 이면 빈 페이지에 nextCursor 를 만들 수 없고, 너무 크면 limit + 1 이 넘친다.)
+	private static int pageSize(int limit) {
+		return Math.max(1, Math.min(limit, MAX_LIMIT));
+	}
+
+	/*
+		DTO 직접 조회 + 컬렉션 IN 쿼리
+		- Order(Member, Delivery) DTO 1번, OrderItem(Item) DTO 를 orderId IN 쿼리 1번 👉 주문 수와 상관없이 쿼리 2번
+		- 엔티티를 조회하지 않으므로 필요한 컬럼만 가져오고 영속성 컨텍스트를 사용하지 않는다.
+		- 페이징은 v6 처럼 order_id keyset 으로 한다. (다음 페이지: 마지막 orderId 를 afterOrderId 로 넘긴다.)
+	 */
+	@GetMapping("/api/v5/orders")
+	public List<OrderQueryDto> ordersV5(
+		@RequestParam(value = "afterOrderId", defaultValue = "0") long afterOrderId,
+		@RequestParam(value = "limit", defaultValue = "100") int limit
+	) {
+		return orderQueryRepository.findAllByDto_optimization(afterOrderId, pageSize(limit));
+	}
+
+	/*
+		Flat 조회: Order, Member, Delivery, OrderItem, Item 을 SQL 한 번으로 조회한 뒤 애플리케이션에서 주문 단위로 묶는다.
+		- 쿼리 1번 (v3.1 은 1 + 1 + 1, v5 는 1 + 1)
+		- 페이징은 order_id keyset 으로 한다. (다음 페이지: 마지막 orderId 를 afterOrderId 로 넘긴다.)
+	 */
+	@GetMapping("/api/v6/orders")
+	public List<OrderQueryDto> ordersV6(
+		@RequestParam(value = "afterOrderId", defaultValue = "0") long afterOrderId,
+		@RequestParam(value = "limit", defaultValue = "100") int limit
+	) {
+		return orderQueryRepository.findAllByDto_flat(afterOrderId, pageSize(limit)); // limit 은 native SQL 서브쿼리로 들어간다.
+	}
+
+	/*
+		주문 목록 조회 모델(order_summary) 조회
+		- 주문 시점에 회원명, 배송지, 상품 수, 총 금액, 상품명을 미리 계산해둔 테이블 하나만 읽는다. 👉 조인 없이 쿼리 1번
+		- 검색 조건은 /orders 화면과 같다. (memberName, orderStatus, orderStatuses, orderDateFrom, orderDateTo, itemId, sort, limit)
+		- 주문상품별 가격/수량이 필요하면 v3 ~ v6 을 사용한다.
+	 */
+	@GetMapping("/api/v7/orders")
+	public List<OrderSummaryDto> ordersV7(@ModelAttribute OrderSearch orderSearch) {
+		return orderService.findOrderSummaries(orderSearch).stream()
+			.map(OrderSummaryDto::new)
+			.toList();
+	}
+
+	/*
+		전체 주문 export (NDJSON: 한 줄에 주문 하나)
+		- List<OrderDto> 를 다 만든 뒤 직렬화하지 않고, ScrollableResults 로 읽으면서 chunk 단위로 바로 응답에 쓴다.
+		- chunk 를 쓴 뒤에는 영속성 컨텍스트를 비우므로 주문 수와 상관없이 힙 사용량이 일정하다.
+	 */
+	@GetMapping(value = "/api/orders/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void exportOrders(
+		@RequestParam(value = "chunkSize", defaultValue = "500") int chunkSize,
+		HttpServletResponse response
+	) throws IOException {
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+		OutputStream out = response.getOutputStream();
+		ObjectWriter writer = objectMapper.writerFor(OrderDto.class)
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 주문 하나 쓸 때마다 응답 스트림이 닫히지 않도록
+
+		// chunk 하나만큼 영속성 컨텍스트/응답 버퍼에 올라가므로 범위를 제한한다.
+		orderExportService.export(Math.max(1, Math.min(chunkSize, MAX_EXPORT_CHUNK_SIZE)), chunk -> {
+			try {
+				for (Order order : chunk) {
+					writer.writeValue(out, new OrderDto(order));
+					out.write('\n');
+				}
+				out.flush(); // chunk 단위로 클라이언트에 밀어낸다.
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/*
+		대량 주문: 요청 하나에 주문 여러 건, 주문 한 건에 상품 여러 개
+		- 회원/상품 조회는 요청 전체에 대해 IN 쿼리 한 번씩, INSERT 는 JDBC 배치로 묶인다. 👉 주문당 SQL 수가 1 보다 훨씬 작아진다.
+		- 재고 부족 등으로 실패한 주문만 error 를 내려주고 나머지는 저장된다. (결과는 요청 순서와 같다.)
+	 */
+	@PostMapping("/api/orders/bulk")
+	public BulkResult<List<BulkOrderResult>> ordersBulk(@RequestBody @Valid BulkOrderRequest request) {
+		List<BulkOrderDto> orders = request.getOrders().stream()
+			.map(order -> new BulkOrderDto(order.getMemberId(), order.getItems().stream()
+				.map(line -> new BulkOrderDto.Line(line.getItemId(), line.getCount()))
+				.toList()))
+			.toList();
+
+		List<BulkOrderResult> results = orderService.orderBulk(orders);
+
+		int failed = (int)results.stream().filter(result -> !result.isSuccess()).count();
+		return new BulkResult<>(results.size(), failed, results);
+	}
+
+	/*
+		주문 접수 대기열 (jpashop.order.intake.enabled=true 일 때만)
+		- 주문을 대기열에 넣고 요청 스레드는 바로 반환된다. (서블릿 async) 배치 트랜잭션이 커밋되면 주문 id 로 응답한다.
+		- 피크 때 주문마다 커밋하지 않고 여러 주문을 한 번에 커밋한다. (OrderIntake)
+	 */
+	@PostMapping("/api/orders/intake")
+	public CompletableFuture<IntakeOrderResponse> intakeOrder(@RequestBody @Valid IntakeOrderRequest request) {
+		if (!orderIntake.isEnabled()) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "주문 접수 대기열이 꺼져 있습니다.");
+		}
+		return orderIntake.submit(request.getMemberId(), request.getItemId(), request.getCount())
+			.handle((orderId, e) -> {
+				if (e != null) {
+					throw intakeError(e);
+				}
+				return new IntakeOrderResponse(orderId);
+			});
+	}
+
+	// 대기열이 가득 찼거나 멈춤 👉 503, 재고 부족 👉 409, 그 외는 그대로 (500)
+	private static RuntimeException intakeError(Throwable e) {
+		Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		if (cause instanceof RejectedExecutionException) {
+			return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, cause.getMessage(), cause);
+		}
+		if (cause instanceof NotEnoughStockException) {
+			return new ResponseStatusException(HttpStatus.CONFLICT, cause.getMessage(), cause);
+		}
+		return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+	}
+
+	@Data
+	static class IntakeOrderRequest {
+
+		@NotNull
+		private Long memberId;
+
+		@NotNull
+		private Long itemId;
+
+		@Positive
+		private int count;
+	}
+
+	@Data
+	@AllArgsConstructor
+	static class IntakeOrderResponse {
+		private Long orderId;
+	}
+
+	@Data
+	static class BulkOrderRequest {
+
+		@NotEmpty
+		@Size(max = 1000)
+		@Valid
+		private List<BulkOrderRequestOrder> orders;
+	}
+
+	@Data
+	static class BulkOrderRequestOrder {
+
+		@NotNull
+		private Long memberId;
+
+		@NotEmpty
+		@Valid
+		private List<BulkOrderRequestItem> items;
+	}
+
+	@Data
+	static class BulkOrderRequestItem {
+
+		@NotNull
+		private Long itemId;
+
+		@Positive
+		private int count;
+	}
+
+	@Data
+	@AllArgsConstructor
+	private static class BulkResult<T> {
+		private int count;
+		private int failed;
+		private T data;
+	}
+
+	@Data
+	@AllArgsConstructor
+	private static class CursorResult<T> {
+		private int count;
+		private T data;
+		private String nextCursor;
+	}
+
 	@Data
 	private static class OrderDto {
 
@@ -186,4 +454,28 @@ public class OrderApiController {
 			count = orderItem.getCount();
 		}
 	}
+
+	@Getter
+	static class OrderSummaryDto {
+
+		private final Long orderId;
+		private final String name;
+		private final LocalDateTime orderDate;
+		private final OrderStatus orderStatus;
+		private final Address address;
+		private final int itemCount;
+		private final int totalPrice;
+		private final String itemNames;
+
+		public OrderSummaryDto(OrderSummary summary) {
+			orderId = summary.getId();
+			name = summary.getMemberName();
+			orderDate = summary.getOrderDate();
+			orderStatus = summary.getStatus();
+			address = summary.getAddress();
+			itemCount = summary.getItemCount();
+			totalPrice = summary.getTotalPrice();
+			itemNames = summary.getItemNames();
+		}
+	}
 }
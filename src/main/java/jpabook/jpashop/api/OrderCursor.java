@@ -0,0 +1,36 @@
+package jpabook.jpashop.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Keyset 페이징에서 사용하는 continuation token
+ * 클라이언트는 토큰의 내부 구조(order_id)를 몰라도 되도록 Base64 로 감싸서 내려준다.
+ */
+final class OrderCursor {
+
+	private static final String PREFIX = "order:";
+
+	private OrderCursor() {
+	}
+
+	static String encode(Long orderId) {
+		byte[] raw = (PREFIX + orderId).getBytes(StandardCharsets.UTF_8);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+	}
+
+	static Long decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!raw.startsWith(PREFIX)) {
+				throw new IllegalArgumentException("unknown cursor: " + cursor);
+			}
+			return Long.valueOf(raw.substring(PREFIX.length()));
+		} catch (IllegalArgumentException e) { // NumberFormatException 포함
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor 입니다.", e);
+		}
+	}
+}
@@ -83,6 +83,8 @@ public class OrderSimpleApi {
 		private LocalDateTime orderDate;
 		private OrderStatus orderStatus;
 		private Address address;
+		private int totalPrice;
+		private int itemCount;
 
 		public SimpleOrderDto(Order order) { // 별로 중요하지 않은 DTO 에서 중요한 엔티티 참조하는 것 괜찮다.
 			orderId = order.getId();
@@ -90,6 +92,8 @@ public class OrderSimpleApi {
 			orderDate = order.getOrderDate();
 			orderStatus = order.getStatus();
 			address = order.getDelivery().getAddress(); // LAZY 초기화
+			totalPrice = order.getTotalPrice(); // orders 컬럼 👉 orderItems 초기화 X
+			itemCount = order.getItemCount();
 		}
 	}
 }
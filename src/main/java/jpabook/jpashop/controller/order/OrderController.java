@@ -1,5 +1,6 @@
 package jpabook.jpashop.controller.order;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.stereotype.Controller;
@@ -10,13 +11,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import jpabook.jpashop.domain.item.Item;
-import jpabook.jpashop.domain.member.Member;
-import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderSummary;
 import jpabook.jpashop.repository.OrderSearch;
-import jpabook.jpashop.service.ItemService;
-import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.BulkOrderDto;
+import jpabook.jpashop.service.BulkOrderResult;
 import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.catalog.OrderFormCatalog;
 import lombok.RequiredArgsConstructor;
 
 @Controller
@@ -24,31 +24,41 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 
 	private final OrderService orderService;
-	private final MemberService memberService;
-	private final ItemService itemService;
+	private final OrderFormCatalog orderFormCatalog;
 
 	@GetMapping("/order")
 	public String createForm(Model model) {
 
-		List<Member> members = memberService.findMembers();
-		List<Item> items = itemService.findItems();
-
-		model.addAttribute("members", members);
-		model.addAttribute("items", items);
+		// 엔티티 전체 조회 대신 id, name 등만 가진 선택 목록 캐시를 사용한다. (DB 조회 X)
+		model.addAttribute("members", orderFormCatalog.members());
+		model.addAttribute("items", orderFormCatalog.items());
 
 		return "order/orderForm";
 	}
 
-	// TODO: 회원이 여러 상품을 주문할 수 있게 변경
+	// 상품을 여러 개 주문할 때는 itemId, count 를 같은 순서로 여러 번 넘긴다.
 	@PostMapping("/order")
 	public String order(
 		@RequestParam("memberId") Long memberId,
-		@RequestParam("itemId") Long itemId,
-		@RequestParam("count") int count
+		@RequestParam("itemId") List<Long> itemIds,
+		@RequestParam("count") List<Integer> counts,
+		Model model
 	) {
 		// "컨트롤러에서 직접 엔티티를 찾지 않는 이유: 식별자만 넘겨주는 것이 서비스 레이어에서 할 수 있는 것이 더 많아진다."
 		// 바깥에서 member 를 넣어주면 파라미터로 받은 member 는 JPA와는 관련없는 (영속 상태가 아닌) 객체가 넘어간다.
-		orderService.order(memberId, itemId, count);
+		List<BulkOrderDto.Line> lines = new ArrayList<>();
+		for (int i = 0; i < Math.min(itemIds.size(), counts.size()); i++) {
+			if (itemIds.get(i) != null && counts.get(i) != null) { // 선택하지 않은 행은 건너뛴다.
+				lines.add(new BulkOrderDto.Line(itemIds.get(i), counts.get(i)));
+			}
+		}
+
+		BulkOrderResult result = orderService.orderBulk(List.of(new BulkOrderDto(memberId, lines))).get(0);
+		if (!result.isSuccess()) {
+			// 재고 부족 등은 서버 오류(500)가 아니라 주문 화면에 사유를 보여준다.
+			model.addAttribute("orderError", result.getError());
+			return createForm(model);
+		}
 		return "redirect:/orders";
 	}
 
@@ -58,7 +68,8 @@ public class OrderController {
 		Model model
 	) {
 		// @ModelAttribute 를 사용한 OrderSearch 는 자동으로 'Model' 에 담긴다.
-		List<Order> orders = orderService.findOrders(orderSearch);
+		// 주문 목록 조회 모델(order_summary)만 읽는다. 👉 회원, 주문상품, 상품 조인/지연로딩 없이 쿼리 1번
+		List<OrderSummary> orders = orderService.findOrderSummaries(orderSearch);
 		model.addAttribute("orders", orders);
 
 		return "order/orderList";
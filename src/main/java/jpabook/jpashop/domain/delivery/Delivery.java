@@ -9,8 +9,11 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.OneToOne;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jpabook.jpashop.domain.id.PooledSequenceGenerator;
 import jpabook.jpashop.domain.order.Order;
 import jpabook.jpashop.domain.type.Address;
 import lombok.Getter;
@@ -22,7 +25,8 @@ import lombok.Setter;
 public class Delivery {
 
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = PooledSequenceGenerator.NAME)
+	@GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
 	@Column(name = "delivery_id")
 	private Long id;
 
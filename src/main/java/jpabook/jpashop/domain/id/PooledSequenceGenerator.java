@@ -0,0 +1,48 @@
+package jpabook.jpashop.domain.id;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * 모든 엔티티가 공유하는 ID 생성 전략 (테이블마다 시퀀스 하나, pooled-lo)
+ * - 시퀀스를 한 번 조회할 때 block-size 개의 ID 를 미리 할당받고, 그 안에서는 DB 를 거치지 않고 ID 를 만든다.
+ *   👉 block-size 가 50 이면 persist 50번에 시퀀스 조회 1번
+ * - 시퀀스 이름은 "테이블명_seq" (예: orders_seq, order_item_seq)
+ * - block-size 는 spring.jpa.properties.jpashop.id.block-size 로 바꿀 수 있다. (1 이면 persist 마다 시퀀스 조회)
+ *
+ * 사용법:
+ * <pre>
+ * &#64;Id
+ * &#64;GeneratedValue(generator = PooledSequenceGenerator.NAME)
+ * &#64;GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
+ * </pre>
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+	public static final String NAME = "pooled_sequence";
+	public static final String STRATEGY = "jpabook.jpashop.domain.id.PooledSequenceGenerator";
+
+	public static final String BLOCK_SIZE = "jpashop.id.block-size";
+	public static final int DEFAULT_BLOCK_SIZE = 50;
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		int blockSize = ConfigurationHelper.getInt(BLOCK_SIZE,
+			serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_BLOCK_SIZE);
+
+		// 엔티티에서 @Parameter 로 직접 지정한 값이 있으면 그 값을 쓴다.
+		params.putIfAbsent(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + "_seq");
+		params.putIfAbsent(INCREMENT_PARAM, String.valueOf(blockSize));
+		params.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+
+		super.configure(type, params, serviceRegistry);
+	}
+}
@@ -15,16 +15,24 @@ import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+
+import jpabook.jpashop.domain.id.PooledSequenceGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Getter
 @Setter
 public class Category {
 
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = PooledSequenceGenerator.NAME)
+	@GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
 	@Column(name = "category_id")
 	private Long id;
 
@@ -40,6 +48,8 @@ public class Category {
 	@JoinColumn(name = "parent_id")
 	private Category parent;
 
+	// 트리 전체 탐색은 CategoryTreeService(스냅샷)를 사용한다. 엔티티로 내려갈 때는 형제 노드들의 자식을 IN 쿼리로 모아서 읽는다.
+	@BatchSize(size = 100)
 	@OneToMany(mappedBy = "parent")
 	private List<Category> children = new ArrayList<>();
 
@@ -8,18 +8,32 @@ import javax.persistence.DiscriminatorColumn;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.ManyToMany;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
+import jpabook.jpashop.domain.id.PooledSequenceGenerator;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * 2차 캐시 (item 영역) 👉 SINGLE_TABLE 상속이라 Book, Album, Movie 도 같은 영역에 캐시된다. (캐시 설정은 최상위 엔티티에만 한다.)
+ * READ_WRITE: 수정/삭제는 커밋 시점에 캐시에 반영되고, 그 사이에는 soft lock 으로 다른 트랜잭션이 옛 값을 읽지 않게 한다.
+ * 👉 ItemService.updateItem(변경감지)은 자동으로 반영되고, 재고 UPDATE(ItemRepository)는 해당 상품만 직접 지운다.
+ */
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")
 @BatchSize(size = 1000) // XXXToOne: OrderItem(Many) To Item(One) 관계에서는 @BatchSize를 클래스 레벨에 작성한다.
 @Entity
+@Table(indexes = @Index(name = "idx_item_name", columnList = "name, item_id")) // 이름 prefix 검색 + (name, id) Keyset 페이징
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "dtype")
 @Getter
@@ -27,7 +41,8 @@ import lombok.Setter;
 public abstract class Item {
 
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = PooledSequenceGenerator.NAME)
+	@GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
 	@Column(name = "item_id")
 	private Long id;
 
@@ -37,6 +52,14 @@ public abstract class Item {
 
 	private int stockQuantity;
 
+	/**
+	 * 낙관적 락
+	 * 주문은 ItemRepository.removeStock 으로 재고를 원자적으로 차감하고,
+	 * 그 외에 엔티티를 읽고-수정하는 경로(주문 취소, 상품 수정)는 버전으로 lost update 를 막는다.
+	 */
+	@Version
+	private Long version;
+
 	@ManyToMany(mappedBy = "items")
 	private List<Category> categories = new ArrayList<>();
 
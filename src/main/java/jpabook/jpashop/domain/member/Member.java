@@ -8,26 +8,42 @@ import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jpabook.jpashop.domain.id.PooledSequenceGenerator;
 import jpabook.jpashop.domain.order.Order;
 import jpabook.jpashop.domain.type.Address;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(
+	uniqueConstraints = @UniqueConstraint(name = Member.UK_NAME, columnNames = "name"), // 중복 가입 방지 (MemberService.join)
+	indexes = @Index(name = "idx_member_name", columnList = "name, member_id") // 이름 prefix 검색 + (name, id) Keyset 페이징
+)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
 @Getter
 @Setter
 public class Member {
 
+	public static final String UK_NAME = "uk_member_name";
+
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = PooledSequenceGenerator.NAME)
+	@GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
 	@Column(name = "member_id")
 	private Long id;
 
-	private String name; // 실무에서는 검증 로직이 있어도 멀티 쓰레드 상황을 고려해서 회원 테이블의 회원명 컬럼에 유니크 제약 조건을 추가하는 것이 안전
+	private String name; // 검증 로직이 있어도 동시에 가입하면 통과할 수 있으므로 유니크 제약 조건(uk_member_name)으로 막는다.
 
 	@Embedded
 	private Address address;
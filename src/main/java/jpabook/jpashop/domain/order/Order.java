@@ -20,9 +20,11 @@ import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
 
 import jpabook.jpashop.domain.delivery.Delivery;
 import jpabook.jpashop.domain.delivery.DeliveryStatus;
+import jpabook.jpashop.domain.id.PooledSequenceGenerator;
 import jpabook.jpashop.domain.member.Member;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -36,8 +38,14 @@ import lombok.Setter;
 @Setter
 public class Order {
 
+	/**
+	 * pooled 시퀀스(PooledSequenceGenerator): 시퀀스를 한 번 조회할 때 ID 를 block-size(기본 50)개씩 미리 할당받는다.
+	 * 👉 주문 하나에 시퀀스 조회(Order, OrderItem, Delivery)가 매번 나가지 않고, INSERT 를 JDBC 배치로 묶을 수 있다.
+	 * 👉 IDENTITY 전략은 persist 시점에 INSERT 가 나가야 해서 배치 INSERT 가 불가능하다.
+	 */
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = PooledSequenceGenerator.NAME)
+	@GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
 	@Column(name = "order_id")
 	private Long id;
 
@@ -69,6 +77,17 @@ public class Order {
 	@Enumerated(EnumType.STRING)
 	private OrderStatus status;
 
+	/**
+	 * 주문 금액, 주문상품 수 (주문상품을 추가할 때 같이 계산해서 저장한다.)
+	 * 👉 목록/리포트에서 총액을 보려고 orderItems 를 지연로딩(IN 쿼리)하지 않아도 된다.
+	 * 👉 컬럼이 생기기 전에 만들어진 주문은 null 이고 OrderTotalsBackfill 이 채운다.
+	 */
+	@Setter(AccessLevel.NONE)
+	private Integer totalPrice = 0;
+
+	@Setter(AccessLevel.NONE)
+	private Integer itemCount = 0;
+
 	//== 생성 메서드 ==//
 	/* 이렇게 작성하는게 중요한 이유: 생성 시 변경 점이 생기면 이 메서드만 변경하면 된다. */
 	public static Order createOrder(Member member, Delivery delivery, OrderItem... orderItems) {
@@ -88,6 +107,11 @@ public class Order {
 	public void addOrderItem(OrderItem orderItem) {
 		this.orderItems.add(orderItem);
 		orderItem.setOrder(this);
+
+		if (this.totalPrice != null) { // null 이면 백필 전 주문 👉 백필이 주문상품 전체로 다시 계산한다.
+			this.totalPrice += orderItem.getTotalPrice();
+			this.itemCount += 1;
+		}
 	}
 
 	public void setDelivery(Delivery delivery) {
@@ -111,20 +135,31 @@ public class Order {
 			throw new IllegalStateException("이미 배송완료된 상품은 취소가 불가능합니다.");
 		}
 
-		this.setStatus(OrderStatus.CANCEL);
-		for (OrderItem orderItem : this.orderItems) {
-			orderItem.cancel();
-		}
+		this.setStatus(OrderStatus.CANCEL); // 주문 금액, 주문상품 수는 주문 당시 값을 그대로 둔다.
+		// 재고 반환은 OrderService.cancelOrder 가 ItemRepository.addStock 으로 DB 에서 원자적으로 한다. (차감과 같은 방식)
 	}
 
 	//== 조회 로직 ==//
 
 	/**
-	 * 전체 주문 가격 조회
+	 * 전체 주문 가격 조회 (저장된 값, 백필 전 주문만 orderItems 로 계산)
 	 */
 	public int getTotalPrice() {
+		if (this.totalPrice != null) {
+			return this.totalPrice;
+		}
 		return this.orderItems.stream()
 			.mapToInt(OrderItem::getTotalPrice)
 			.sum();
 	}
+
+	/**
+	 * 주문상품 수 조회 (저장된 값, 백필 전 주문만 orderItems 로 계산)
+	 */
+	public int getItemCount() {
+		if (this.itemCount != null) {
+			return this.itemCount;
+		}
+		return this.orderItems.size();
+	}
 }
\ No newline at end of file
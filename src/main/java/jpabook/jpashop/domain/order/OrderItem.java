@@ -9,8 +9,11 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jpabook.jpashop.domain.id.PooledSequenceGenerator;
 import jpabook.jpashop.domain.item.Item;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -24,7 +27,8 @@ import lombok.Setter;
 public class OrderItem {
 
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = PooledSequenceGenerator.NAME)
+	@GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
 	@Column(name = "order_item_id")
 	private Long id;
 
@@ -43,19 +47,23 @@ public class OrderItem {
 
 	//== 생성 메서드==//
 	public static OrderItem createOrderItem(Item item, int orderPrice, int count) {
-		OrderItem orderItem = new OrderItem();
-		orderItem.setItem(item);
-		orderItem.setOrderPrice(orderPrice);
-		orderItem.setCount(count);
+		OrderItem orderItem = createReservedOrderItem(item, orderPrice, count);
 
 		item.removeStock(count);
 
 		return orderItem;
 	}
 
-	//== 비즈니스 로직 ==//
-	public void cancel() {
-		this.item.addStock(count);
+	/**
+	 * 재고를 이미 차감한 상태에서 주문상품 생성
+	 * 👉 ItemRepository.removeStock 으로 DB 에서 재고를 원자적으로 차감한 경우에 사용한다. (엔티티 재고는 건드리지 않는다.)
+	 */
+	public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+		OrderItem orderItem = new OrderItem();
+		orderItem.setItem(item);
+		orderItem.setOrderPrice(orderPrice);
+		orderItem.setCount(count);
+		return orderItem;
 	}
 
 	//== 조회 로직 ==//
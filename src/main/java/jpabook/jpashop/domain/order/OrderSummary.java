@@ -0,0 +1,95 @@
+package jpabook.jpashop.domain.order;
+
+import static java.util.stream.Collectors.*;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import jpabook.jpashop.domain.type.Address;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 목록 조회 전용 모델 (주문 1건 = 1 row)
+ * - 주문 목록에 필요한 회원명, 배송지, 상품 수, 총 금액, 상품명을 주문 시점에 미리 계산해서 저장한다.
+ *   👉 목록/검색은 orders, member, delivery, order_item, item 조인 없이 이 테이블 하나만 인덱스로 읽는다.
+ * - 쓰기는 Order 를 저장/취소하는 트랜잭션 안에서 OrderSummaryProjector 가 같이 한다. (같이 커밋되거나 같이 롤백된다.)
+ * - id 는 주문 id 를 그대로 쓴다.
+ */
+@Entity
+@Table(name = "order_summary", indexes = {
+	@Index(name = "idx_order_summary_member_name", columnList = "member_name, order_id"), // 회원명 prefix 검색
+	@Index(name = "idx_order_summary_status_date", columnList = "status, order_date"), // 상태별 최신순
+	@Index(name = "idx_order_summary_date", columnList = "order_date, order_id") // 전체 최신순, 기간 검색
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class OrderSummary {
+
+	static final int ITEM_NAMES_LENGTH = 1000;
+
+	@Id
+	@Column(name = "order_id")
+	private Long id;
+
+	private Long memberId;
+
+	private String memberName;
+
+	@Enumerated(EnumType.STRING)
+	private OrderStatus status;
+
+	private LocalDateTime orderDate;
+
+	@Embedded
+	private Address address;
+
+	private int itemCount;
+
+	private int totalPrice;
+
+	@Column(length = ITEM_NAMES_LENGTH)
+	private String itemNames; // "JPA1 Book, JPA2 Book"
+
+	//== 생성 메서드 ==//
+
+	/**
+	 * 주문을 만든 트랜잭션에서 호출한다. (회원, 배송, 주문상품, 상품이 이미 영속성 컨텍스트에 있으므로 추가 조회가 없다.)
+	 */
+	public static OrderSummary from(Order order) {
+		OrderSummary summary = new OrderSummary();
+		summary.id = order.getId();
+		summary.memberId = order.getMember().getId();
+		summary.memberName = order.getMember().getName();
+		summary.status = order.getStatus();
+		summary.orderDate = order.getOrderDate();
+		summary.address = order.getDelivery() == null ? null : order.getDelivery().getAddress(); // 배송 정보가 없는 옛 주문
+		summary.itemCount = order.getItemCount();
+		summary.totalPrice = order.getTotalPrice();
+		summary.itemNames = abbreviate(order.getOrderItems().stream()
+			.map(orderItem -> orderItem.getItem().getName())
+			.collect(joining(", ")));
+		return summary;
+	}
+
+	//== 비즈니스 로직 ==//
+	public void cancel() {
+		this.status = OrderStatus.CANCEL;
+	}
+
+	private static String abbreviate(String itemNames) {
+		if (itemNames.length() <= ITEM_NAMES_LENGTH) {
+			return itemNames;
+		}
+		return itemNames.substring(0, ITEM_NAMES_LENGTH - 3) + "...";
+	}
+}
@@ -0,0 +1,54 @@
+package jpabook.jpashop.domain.outbox;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import jpabook.jpashop.domain.id.PooledSequenceGenerator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transactional outbox
+ * - 외부로 알릴 이벤트를 비즈니스 데이터와 같은 트랜잭션에서 이 테이블에 INSERT 한다. (같이 커밋되거나 같이 롤백된다.)
+ * - 실제 발행은 OutboxDispatcher 가 백그라운드에서 id 순서대로 모아서 하고, 발행한 row 는 지운다.
+ *   👉 요청 스레드는 외부 시스템(sink)을 기다리지 않는다.
+ */
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(generator = PooledSequenceGenerator.NAME)
+	@GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
+	@Column(name = "outbox_event_id")
+	private Long id;
+
+	private String aggregateType; // Order
+
+	private Long aggregateId;
+
+	private String eventType; // OrderPlaced, OrderCanceled
+
+	@Column(length = 4000)
+	private String payload; // JSON
+
+	private Instant createdAt;
+
+	public static OutboxEvent create(String aggregateType, Long aggregateId, String eventType, String payload) {
+		OutboxEvent event = new OutboxEvent();
+		event.aggregateType = aggregateType;
+		event.aggregateId = aggregateId;
+		event.eventType = eventType;
+		event.payload = payload;
+		event.createdAt = Instant.now();
+		return event;
+	}
+}
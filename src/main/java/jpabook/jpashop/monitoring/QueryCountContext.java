@@ -0,0 +1,73 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP 요청 하나 동안 실행된 SQL 통계
+ * 요청 스레드에 ThreadLocal 로 묶어두고, QueryCountFilter 가 요청 시작/종료 시점에 열고 닫는다.
+ */
+public class QueryCountContext {
+
+	private static final ThreadLocal<QueryCountContext> HOLDER = new ThreadLocal<>();
+
+	// in (?, ?, ?) 처럼 파라미터 개수만 다른 쿼리는 같은 모양으로 본다.
+	private static final Pattern IN_PARAMS = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+	private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+	private int count;
+	private long elapsedMillis;
+	private final Map<String, Integer> shapeCounts = new HashMap<>();
+
+	public static QueryCountContext start() {
+		QueryCountContext context = new QueryCountContext();
+		HOLDER.set(context);
+		return context;
+	}
+
+	public static Optional<QueryCountContext> current() {
+		return Optional.ofNullable(HOLDER.get());
+	}
+
+	public static void clear() {
+		HOLDER.remove();
+	}
+
+	/**
+	 * JDBC 실행 한 번 (batch 면 SQL 여러 개가 한 번에 실행된다.)
+	 * 👉 실행 시간은 batch 전체의 시간이므로 SQL 수와 상관없이 한 번만 더한다.
+	 */
+	public void record(List<String> sqls, long elapsedMillis) {
+		this.count += sqls.size();
+		this.elapsedMillis += elapsedMillis;
+		for (String sql : sqls) {
+			this.shapeCounts.merge(toShape(sql), 1, Integer::sum);
+		}
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * 같은 모양의 SQL 이 threshold 번을 넘게 실행되었으면 N+1 로 본다.
+	 * @return 가장 많이 반복된 SQL 모양과 횟수
+	 */
+	public Optional<Map.Entry<String, Integer>> findRepeatedShape(int threshold) {
+		return shapeCounts.entrySet().stream()
+			.filter(e -> e.getValue() > threshold)
+			.max(Map.Entry.comparingByValue());
+	}
+
+	private static String toShape(String sql) {
+		String shape = IN_PARAMS.matcher(sql).replaceAll("(?)");
+		return WHITESPACES.matcher(shape).replaceAll(" ").trim();
+	}
+}
@@ -0,0 +1,89 @@
+package jpabook.jpashop.monitoring;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.exception.NPlusOneQueryException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청 단위 SQL 실행 수/시간 측정 + N+1 감지
+ * - 헤더: X-Query-Count, X-Query-Time (QueryCountHeaderAdvice 가 응답 바디를 쓰기 전에 추가)
+ * - 메트릭: jpashop.sql.statements, jpashop.sql.time, jpashop.sql.n-plus-one (uri 태그)
+ * - 같은 모양의 SQL 이 threshold 번을 넘게 실행되면 경고 로그를 남기고, fail=true 면 예외를 던진다. (테스트용)
+ */
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+	private final MeterRegistry meterRegistry;
+	private final int nPlusOneThreshold;
+	private final boolean failOnNPlusOne;
+
+	public QueryCountFilter(
+		MeterRegistry meterRegistry,
+		@Value("${jpashop.sql.n-plus-one.threshold:10}") int nPlusOneThreshold,
+		@Value("${jpashop.sql.n-plus-one.fail:false}") boolean failOnNPlusOne
+	) {
+		this.meterRegistry = meterRegistry;
+		this.nPlusOneThreshold = nPlusOneThreshold;
+		this.failOnNPlusOne = failOnNPlusOne;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+
+		QueryCountContext context = QueryCountContext.start();
+		boolean completed = false;
+		try {
+			filterChain.doFilter(request, response);
+			completed = true;
+		} finally {
+			QueryCountContext.clear();
+			report(request, context, completed);
+		}
+	}
+
+	/**
+	 * @param completed 요청이 예외 없이 끝났는지 👉 요청이 이미 실패했으면 N+1 예외로 원래 예외를 가리지 않는다. (경고 로그만)
+	 */
+	private void report(HttpServletRequest request, QueryCountContext context, boolean completed) {
+		String uri = uriTag(request);
+
+		meterRegistry.summary("jpashop.sql.statements", "uri", uri).record(context.getCount());
+		meterRegistry.timer("jpashop.sql.time", "uri", uri).record(Duration.ofMillis(context.getElapsedMillis()));
+
+		context.findRepeatedShape(nPlusOneThreshold).ifPresent(repeated -> {
+			meterRegistry.counter("jpashop.sql.n-plus-one", "uri", uri).increment();
+			String message = nPlusOneMessage(uri, repeated);
+			if (failOnNPlusOne && completed) {
+				throw new NPlusOneQueryException(message);
+			}
+			log.warn(message);
+		});
+	}
+
+	private String nPlusOneMessage(String uri, Map.Entry<String, Integer> repeated) {
+		return "N+1 query detected on %s: same query executed %d times (threshold %d) 👉 %s"
+			.formatted(uri, repeated.getValue(), nPlusOneThreshold, repeated.getKey());
+	}
+
+	// 매핑된 URL 패턴(/api/v2/member/{id})을 사용해서 태그 수가 늘어나지 않도록 한다.
+	private String uriTag(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern != null ? pattern.toString() : "UNKNOWN";
+	}
+}
@@ -0,0 +1,41 @@
+package jpabook.jpashop.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 바디를 쓰고 나면 헤더를 추가할 수 없으므로, 바디를 쓰기 직전에 그때까지의 SQL 통계를 헤더로 내려준다.
+ * 👉 @ResponseBody(API) 응답에만 적용된다. 뷰 렌더링 요청은 메트릭으로만 확인한다.
+ */
+@RestControllerAdvice
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+	public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+	public static final String QUERY_TIME_HEADER = "X-Query-Time";
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(
+		Object body,
+		MethodParameter returnType,
+		MediaType selectedContentType,
+		Class<? extends HttpMessageConverter<?>> selectedConverterType,
+		ServerHttpRequest request,
+		ServerHttpResponse response
+	) {
+		QueryCountContext.current().ifPresent(context -> {
+			response.getHeaders().set(QUERY_COUNT_HEADER, String.valueOf(context.getCount()));
+			response.getHeaders().set(QUERY_TIME_HEADER, context.getElapsedMillis() + "ms");
+		});
+		return body;
+	}
+}
@@ -0,0 +1,27 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * datasource-proxy 리스너 (QueryExecutionListener 빈은 datasource-decorator 가 자동으로 등록한다.)
+ * 요청 컨텍스트가 열려있을 때만 기록한다. (스케줄러, 애플리케이션 초기화 등은 제외)
+ */
+@Component
+public class QueryCountListener implements QueryExecutionListener {
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		QueryCountContext.current().ifPresent(context -> context.record(
+			queryInfoList.stream().map(QueryInfo::getQuery).toList(), execInfo.getElapsedTime()));
+	}
+}
@@ -0,0 +1,107 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * 운영용 샘플링 SQL 트레이서 (p6spy 처럼 모든 SQL 을 동기로 포맷팅/로깅하지 않는다.)
+ * - sampleRate 건 중 1건, 또는 slowThresholdMillis 이상 걸린 SQL 만 기록한다.
+ * - JDBC 호출 스레드는 링 버퍼에 넣기만 하고, 로그 출력은 스케줄러 스레드가 모아서 한다.
+ */
+@Slf4j
+@Component
+public class SampledSqlTracer implements QueryExecutionListener {
+
+	private final boolean enabled;
+	private final int sampleRate;
+	private final long slowThresholdMillis;
+	private final SqlTraceRingBuffer buffer;
+
+	public SampledSqlTracer(
+		@Value("${jpashop.sql.trace.enabled:true}") boolean enabled,
+		@Value("${jpashop.sql.trace.sample-rate:100}") int sampleRate,
+		@Value("${jpashop.sql.trace.slow-threshold-ms:200}") long slowThresholdMillis,
+		@Value("${jpashop.sql.trace.buffer-size:1024}") int bufferSize
+	) {
+		if (sampleRate <= 0) { // afterQuery 의 nextInt(sampleRate) 가 SQL 마다 실패하지 않도록 기동 시점에 막는다.
+			throw new IllegalArgumentException("jpashop.sql.trace.sample-rate 는 1 이상이어야 합니다. " + sampleRate);
+		}
+		this.enabled = enabled;
+		this.sampleRate = sampleRate;
+		this.slowThresholdMillis = slowThresholdMillis;
+		this.buffer = new SqlTraceRingBuffer(bufferSize);
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		if (!enabled) {
+			return;
+		}
+
+		long elapsed = execInfo.getElapsedTime();
+		boolean slow = elapsed >= slowThresholdMillis;
+		if (!slow && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+			return; // 대부분의 SQL 은 여기서 끝난다.
+		}
+
+		String threadName = Thread.currentThread().getName();
+		for (QueryInfo queryInfo : queryInfoList) {
+			List<String> parameterShapes = parameterShapes(queryInfo);
+			buffer.publish(sequence -> new SqlTraceRecord(
+				sequence, System.currentTimeMillis(), threadName, queryInfo.getQuery(), parameterShapes, elapsed, slow));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${jpashop.sql.trace.drain-interval-ms:1000}")
+	public void drain() {
+		buffer.drain(record -> {
+			if (record.isSlow()) {
+				log.warn("[slow-sql] {}ms thread={} params={} sql={}",
+					record.getElapsedMillis(), record.getThreadName(), record.getParameterShapes(), record.getSql());
+			} else {
+				log.info("[sampled-sql] {}ms thread={} params={} sql={}",
+					record.getElapsedMillis(), record.getThreadName(), record.getParameterShapes(), record.getSql());
+			}
+		});
+	}
+
+	public long getDropped() {
+		return buffer.getDropped();
+	}
+
+	// 첫 번째 파라미터 묶음(batch 인 경우 첫 row)의 타입만 본다.
+	// 👉 setNull(index, sqlType) 의 두 번째 인자는 값이 아니라 java.sql.Types 코드(int)이므로 "null" 로 본다.
+	private List<String> parameterShapes(QueryInfo queryInfo) {
+		List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+		if (parametersList.isEmpty()) {
+			return List.of();
+		}
+
+		List<String> shapes = new ArrayList<>();
+		for (ParameterSetOperation operation : parametersList.get(0)) {
+			if ("setNull".equals(operation.getMethod().getName())) {
+				shapes.add("null");
+				continue;
+			}
+			Object[] args = operation.getArgs();
+			Object value = args.length > 1 ? args[1] : null;
+			shapes.add(value == null ? "null" : value.getClass().getSimpleName());
+		}
+		return shapes;
+	}
+}
@@ -0,0 +1,23 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 샘플링된 SQL 한 건
+ * 파라미터는 값이 아니라 타입(모양)만 남긴다. (개인정보 노출 X, 기록 비용 최소화)
+ */
+@Getter
+@RequiredArgsConstructor
+public class SqlTraceRecord {
+
+	private final long sequence;
+	private final long timestampMillis;
+	private final String threadName;
+	private final String sql;
+	private final List<String> parameterShapes;
+	private final long elapsedMillis;
+	private final boolean slow;
+}
@@ -0,0 +1,59 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * 고정 크기 lock-free 링 버퍼 (쓰기: 여러 스레드, 읽기: drain 스레드 하나)
+ * - 쓰기는 시퀀스 증가(CAS 1번) + 슬롯 저장이 전부다. 👉 JDBC 호출 스레드가 대기하지 않는다.
+ * - 읽기가 늦어서 한 바퀴 이상 밀리면 오래된 기록은 덮어쓰고 버린다. (dropped 로 집계)
+ */
+public class SqlTraceRingBuffer {
+
+	private final AtomicReferenceArray<SqlTraceRecord> slots;
+	private final int mask;
+	private final AtomicLong writeSequence = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private long readSequence; // drain 스레드 전용
+
+	public SqlTraceRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // 2의 거듭제곱으로 올림
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	public void publish(LongFunction<SqlTraceRecord> recordFactory) {
+		long sequence = writeSequence.getAndIncrement();
+		slots.set((int)(sequence & mask), recordFactory.apply(sequence));
+	}
+
+	/**
+	 * 마지막으로 읽은 위치부터 지금까지 쓰인 기록을 읽는다.
+	 * @return 읽은 기록 수
+	 */
+	public int drain(Consumer<SqlTraceRecord> consumer) {
+		long end = writeSequence.get();
+		if (end - readSequence > slots.length()) {
+			dropped.addAndGet(end - readSequence - slots.length());
+			readSequence = end - slots.length();
+		}
+
+		int drained = 0;
+		while (readSequence < end) {
+			SqlTraceRecord record = slots.get((int)(readSequence & mask));
+			if (record == null || record.getSequence() != readSequence) {
+				break; // 시퀀스만 할당되고 아직 저장되지 않은 슬롯 👉 다음 drain 에서 읽는다.
+			}
+			consumer.accept(record);
+			readSequence++;
+			drained++;
+		}
+		return drained;
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+}
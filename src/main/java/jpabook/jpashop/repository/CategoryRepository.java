@@ -0,0 +1,23 @@
+package jpabook.jpashop.repository;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.stereotype.Repository;
+
+import jpabook.jpashop.domain.item.Category;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+	private final EntityManager em;
+
+	public void save(Category category) {
+		em.persist(category);
+	}
+
+	public Category findOne(Long id) {
+		return em.find(Category.class, id);
+	}
+}
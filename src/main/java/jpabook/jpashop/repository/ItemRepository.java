@@ -1,10 +1,22 @@
 package jpabook.jpashop.repository;
 
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
 
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jpabook.jpashop.domain.item.Item;
 import lombok.RequiredArgsConstructor;
@@ -13,24 +25,244 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ItemRepository {
 
+	private static final Set<Serializable> ITEM_TABLE = Set.of("item"); // Item 의 query space (SINGLE_TABLE)
+
 	private final EntityManager em;
 
-	public void save(Item item) {
+	/**
+	 * @return 영속 상태의 상품 (merge 한 경우 파라미터로 넘긴 객체가 아니라 merge 결과)
+	 */
+	public Item save(Item item) {
 		if (item.getId() == null) {
 			em.persist(item);
-			return;
+			return item;
 		}
-		em.merge(item); // 이미 DB 등록된 것을 가져온 상황.(update)
+		return em.merge(item); // 이미 DB 등록된 것을 가져온 상황.(update)
 	}
 
 	public Item findOne(Long id) {
 		return em.find(Item.class, id);
 	}
 
+	/**
+	 * 여러 상품을 IN 쿼리 한 번으로 조회 (대량 주문)
+	 */
+	public List<Item> findAllById(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+
+		return em.createQuery("""
+				select i
+				from Item i
+				where i.id in :ids""", Item.class)
+			.setParameter("ids", ids)
+			.getResultList();
+	}
+
+	/**
+	 * 재고 차감 (조건부 UPDATE 한 번으로 원자적으로 처리)
+	 * 엔티티로 읽고-빼고-쓰면 동시 주문에서 lost update(초과 판매)가 발생한다.
+	 * 👉 DB 가 row lock 을 잡은 상태에서 "재고 >= 수량" 을 확인하고 차감하므로, 락을 애플리케이션에서 오래 잡지 않고도 정확하다.
+	 * 👉 영속성 컨텍스트를 거치지 않으므로 차감 후 엔티티를 refresh 한다.
+	 *
+	 * @return 재고가 부족해서 차감하지 못하면 false
+	 */
+	public boolean removeStock(Item item, int quantity) {
+		int updated = executeStockUpdate(item.getId(), """
+				update item
+				set stock_quantity = stock_quantity - ?,
+				    version = version + 1
+				where item_id = ? and stock_quantity >= ?""", quantity, item.getId(), quantity);
+
+		if (updated == 0) {
+			return false;
+		}
+
+		em.refresh(item);
+		return true;
+	}
+
+	/**
+	 * 재고 증가 (주문 취소) 👉 removeStock 과 같은 이유로 UPDATE 한 번으로 처리한다.
+	 * 엔티티로 읽고-더하고-쓰면 그 사이의 주문(version 증가)과 충돌해서 취소가 낙관적 락 예외로 실패한다.
+	 */
+	public void addStock(Item item, int quantity) {
+		executeStockUpdate(item.getId(), """
+				update item
+				set stock_quantity = stock_quantity + ?,
+				    version = version + 1
+				where item_id = ?""", quantity, item.getId());
+
+		em.refresh(item);
+	}
+
+	/**
+	 * 대량 주문 재고 차감 👉 상품당 조건부 UPDATE 한 번씩을 JDBC 배치 하나로 보낸다.
+	 * 차감한 상품은 refresh(SELECT) 하지 않고, 읽어둔 엔티티의 재고를 차감한 만큼 직접 맞춘다.
+	 *
+	 * @return 재고가 부족해서 차감하지 못한 상품 id (UPDATE 0건)
+	 */
+	public Set<Long> removeStockAll(Map<Item, Integer> quantities) {
+		List<Item> items = List.copyOf(quantities.keySet());
+		int[] updated = executeStockBatch(items, """
+				update item
+				set stock_quantity = stock_quantity - ?,
+				    version = version + 1
+				where item_id = ? and stock_quantity >= ?""",
+			item -> new Object[] {quantities.get(item), item.getId(), quantities.get(item)});
+
+		Set<Long> notRemoved = new HashSet<>();
+		for (int i = 0; i < items.size(); i++) {
+			Item item = items.get(i);
+			if (updated[i] == 0) { // 드라이버가 건수를 모르면 SUCCESS_NO_INFO(-2) 👉 차감된 것으로 본다.
+				notRemoved.add(item.getId());
+			} else {
+				syncStock(item, -quantities.get(item));
+			}
+		}
+		return notRemoved;
+	}
+
+	/**
+	 * 대량 주문에서 차감해둔 재고를 되돌린다. 👉 상품당 UPDATE 한 번씩, JDBC 배치 하나
+	 */
+	public void addStockAll(Map<Item, Integer> quantities) {
+		List<Item> items = List.copyOf(quantities.keySet());
+		executeStockBatch(items, """
+				update item
+				set stock_quantity = stock_quantity + ?,
+				    version = version + 1
+				where item_id = ?""",
+			item -> new Object[] {quantities.get(item), item.getId()});
+
+		items.forEach(item -> syncStock(item, quantities.get(item)));
+	}
+
+	public int findStockQuantity(Long id) {
+		return em.createQuery("""
+				select i.stockQuantity
+				from Item i
+				where i.id = :id""", Integer.class)
+			.setParameter("id", id)
+			.getSingleResult();
+	}
+
+	/**
+	 * 메모리 재고 장부(StockReservationLedger)에서 이미 수락한 차감량을 DB 에 반영한다.
+	 * 재고 검증은 장부에서 끝났으므로 조건 없이 차감한다. (consumed 가 음수면 재고 증가)
+	 */
+	public void applyConsumedStock(Long id, long consumed) {
+		executeStockUpdate(id, """
+				update item
+				set stock_quantity = stock_quantity - ?,
+				    version = version + 1
+				where item_id = ?""", Math.toIntExact(consumed), id);
+	}
+
+	/**
+	 * 재고 UPDATE 는 JPQL 벌크 연산 대신 JDBC 로 직접 실행한다.
+	 * 👉 JPQL/네이티브 벌크 연산은 2차 캐시의 Item 영역 전체를 비운다. 주문 한 건마다 상품 캐시가 모두 날아가는 셈이다.
+	 * 👉 대신 바뀐 상품 하나만 캐시에서 지우고, 트랜잭션이 끝난 뒤(커밋/롤백) 한 번 더 지운다.
+	 *    (그 사이에 다른 트랜잭션이 커밋 전 값을 다시 캐시에 올렸을 수 있으므로)
+	 * 👉 재고는 상품 목록 쿼리 결과(ID 목록)에 영향이 없으므로 쿼리 캐시는 그대로 둔다.
+	 * 👉 JDBC 직접 실행은 JPQL 처럼 자동 flush 가 일어나지 않으므로, item 테이블에 쓰기 지연된 작업이 있으면 먼저 flush 한다.
+	 *    (같은 트랜잭션에서 persist 한 상품은 INSERT 가 쓰기 지연되어 아직 row 가 없다. 👉 0건 UPDATE = 재고 부족으로 오인)
+	 *    item 과 상관없는 주문 INSERT 만 쌓여 있을 때는 flush 하지 않는다. (대량 주문의 JDBC 배치가 주문마다 끊기지 않도록)
+	 */
+	private int executeStockUpdate(Long itemId, String sql, Object... parameters) {
+		SessionImplementor session = flushPendingItemWrites();
+		int updated = session.doReturningWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (int i = 0; i < parameters.length; i++) {
+					statement.setObject(i + 1, parameters[i]);
+				}
+				return statement.executeUpdate();
+			}
+		});
+
+		evictFromCache(itemId);
+		evictAfterCompletion(List.of(itemId));
+		return updated;
+	}
+
+	/**
+	 * executeStockUpdate 의 배치 버전 (상품마다 파라미터 한 줄)
+	 *
+	 * @return 상품별 UPDATE 건수 (items 와 같은 순서)
+	 */
+	private int[] executeStockBatch(List<Item> items, String sql, Function<Item, Object[]> parametersOf) {
+		if (items.isEmpty()) {
+			return new int[0];
+		}
+
+		SessionImplementor session = flushPendingItemWrites();
+		int[] updated = session.doReturningWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (Item item : items) {
+					Object[] parameters = parametersOf.apply(item);
+					for (int i = 0; i < parameters.length; i++) {
+						statement.setObject(i + 1, parameters[i]);
+					}
+					statement.addBatch();
+				}
+				return statement.executeBatch();
+			}
+		});
+
+		List<Long> itemIds = items.stream().map(Item::getId).toList();
+		itemIds.forEach(this::evictFromCache);
+		evictAfterCompletion(itemIds);
+		return updated;
+	}
+
+	private SessionImplementor flushPendingItemWrites() {
+		SessionImplementor session = em.unwrap(SessionImplementor.class);
+		if (session.getActionQueue().areTablesToBeUpdated(ITEM_TABLE)) {
+			em.flush();
+		}
+		return session;
+	}
+
+	/**
+	 * DB 에서 이미 바꾼 재고를 영속 상태의 엔티티에 맞춘다. (refresh SELECT 대신)
+	 * 👉 읽기 전용으로 바꿨다가 되돌리면 하이버네이트가 현재 값을 스냅샷으로 다시 잡는다. 변경감지로 재고 UPDATE 가 한 번 더 나가지 않는다.
+	 * 👉 version 도 UPDATE 와 같이 1 올린다. (읽은 뒤 다른 트랜잭션이 바꿨다면 DB 가 더 크다. 주문 화면 목록은 큰 쪽을 남긴다.)
+	 */
+	private void syncStock(Item item, int delta) {
+		item.setStockQuantity(item.getStockQuantity() + delta);
+		item.setVersion(item.getVersion() + 1);
+		Session session = em.unwrap(Session.class);
+		session.setReadOnly(item, true);
+		session.setReadOnly(item, false);
+	}
+
+	private void evictAfterCompletion(List<Long> itemIds) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					itemIds.forEach(ItemRepository.this::evictFromCache);
+				}
+			});
+		}
+	}
+
+	private void evictFromCache(Long itemId) {
+		em.getEntityManagerFactory().getCache().evict(Item.class, itemId);
+	}
+
+	/**
+	 * 상품 목록 (주문 화면에서 매번 조회) 👉 쿼리 캐시 사용
+	 * 쿼리 캐시에는 ID 목록만 저장되고, 엔티티는 2차 캐시(item 영역)에서 꺼낸다.
+	 * 상품이 추가/수정되면(item 테이블 변경) 하이버네이트가 쿼리 캐시를 무효화한다.
+	 */
 	public List<Item> findAll() {
 		return em.createQuery("""
 				select i
 				from Item i""", Item.class)
+			.setHint(QueryHints.HINT_CACHEABLE, true)
+			.setHint(QueryHints.HINT_CACHE_REGION, "query-items")
 			.getResultList();
 	}
 }
@@ -1,9 +1,13 @@
 package jpabook.jpashop.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
 import jpabook.jpashop.domain.member.Member;
@@ -24,12 +28,36 @@ public class MemberRepository {
 		return member.getId();
 	}
 
+	/**
+	 * 쓰기 지연된 INSERT/UPDATE 를 바로 실행한다.
+	 * 👉 유니크 제약(uk_member_name) 위반이 커밋 시점이 아니라 여기서 DataIntegrityViolationException 으로 변환되어 나온다. (@Repository)
+	 */
+	public void flush() {
+		em.flush();
+	}
+
 	public Member findOne(Long id) {
 		return em.find(Member.class, id);
 	}
 
+	public List<Member> findAllById(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+
+		return em.createQuery("""
+				select m
+				from Member m
+				where m.id in :ids""", Member.class)
+			.setParameter("ids", ids)
+			.getResultList();
+	}
+
+	// 주문 화면에서 매번 조회 👉 쿼리 캐시 사용 (회원이 추가/수정되면 무효화된다.)
 	public List<Member> findAll() {
 		return em.createQuery("select m from Member m", Member.class)
+			.setHint(QueryHints.HINT_CACHEABLE, true)
+			.setHint(QueryHints.HINT_CACHE_REGION, "query-members")
 			.getResultList();
 	}
 
@@ -41,4 +69,12 @@ public class MemberRepository {
 			.setParameter("name", name)
 			.getResultList();
 	}
+
+	// 전체 회원명 (MemberNameFilter 로딩) 👉 fetchSize 만큼씩 읽는다. 트랜잭션 안에서 사용하고 close 해야 한다.
+	public Stream<String> streamAllNames(int fetchSize) {
+		return em.createQuery("select m.name from Member m", String.class)
+			.unwrap(Query.class)
+			.setFetchSize(fetchSize)
+			.stream();
+	}
 }
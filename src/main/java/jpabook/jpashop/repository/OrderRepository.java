@@ -12,6 +12,9 @@ import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
@@ -114,6 +117,16 @@ public class OrderRepository {
 		return query.getResultList();
 	}
 
+	/**
+	 * 주문 검색 (findAll, findAllByString, findAllByCriteria 를 대신한다.)
+	 * - 조건 모양별 JPQL 을 캐시하고 값만 바인딩한다. (OrderSearchQuery)
+	 * - 회원, 배송은 페치조인 👉 주문 목록 화면에서 회원/배송 N+1 이 생기지 않는다.
+	 * - 회원명은 prefix 검색, 최대 1000건
+	 */
+	public List<Order> search(OrderSearch orderSearch) {
+		return OrderSearchQuery.ORDERS.create(em, orderSearch).getResultList();
+	}
+
 	// 프록시에 값을 다 채워서 가져온다.
 	public List<Order> findAllWithMemberDelivery() {
 		return em.createQuery("""
@@ -123,17 +136,63 @@ public class OrderRepository {
 			.getResultList();
 	}
 
+	// offset 페이징은 정렬이 없으면 페이지 경계가 DB 마음대로라 order by 로 고정한다.
 	public List<Order> findAllWithMemberDelivery(int offset, int limit) {
 		return em.createQuery("""
 				select o from Order o
 				join fetch o.member m
-				join fetch o.delivery d""", Order.class)
+				join fetch o.delivery d
+				order by o.id""", Order.class)
 			.setFirstResult(offset)
 			.setMaxResults(limit)
 			.getResultList();
 	}
 
-	public List<Order> findAllWithItem() {
+	/*
+		Keyset(Seek) 페이징
+		offset 방식은 DB가 offset 만큼의 Row를 읽고 버리기 때문에 페이지가 깊어질수록 느려진다.
+		👉 마지막으로 조회한 order_id 다음부터 PK 인덱스를 타고 limit 만큼만 읽으므로 페이지 깊이와 상관없이 비용이 일정하다.
+		👉 OrderItem, Item 은 기존처럼 default_batch_fetch_size 에 의해 IN 쿼리로 조회된다.
+	 */
+	public List<Order> findAllWithMemberDeliveryAfter(Long afterOrderId, int limit) {
+		if (afterOrderId == null) {
+			return em.createQuery("""
+					select o from Order o
+					join fetch o.member m
+					join fetch o.delivery d
+					order by o.id""", Order.class)
+				.setMaxResults(limit)
+				.getResultList();
+		}
+
+		return em.createQuery("""
+				select o from Order o
+				join fetch o.member m
+				join fetch o.delivery d
+				where o.id > :afterOrderId
+				order by o.id""", Order.class)
+			.setParameter("afterOrderId", afterOrderId)
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
+	/*
+		대량 export 용 forward-only 커서
+		👉 결과를 List 로 한 번에 올리지 않고 fetchSize 만큼씩 JDBC 드라이버에서 가져온다.
+		👉 반드시 트랜잭션 안에서 사용하고, 다 읽으면 close 해야 커넥션(커서)이 반환된다.
+	 */
+	public ScrollableResults scrollAllWithMemberDelivery(int fetchSize) {
+		return em.createQuery("""
+				select o from Order o
+				join fetch o.member m
+				join fetch o.delivery d
+				order by o.id""", Order.class)
+			.unwrap(Query.class)
+			.setFetchSize(fetchSize)
+			.scroll(ScrollMode.FORWARD_ONLY);
+	}
+
+	public List<Order> findAllWithItem(int offset, int limit) {
 		/*
 			JPQL에서 DISTINCT 키워드 사용하기
 
@@ -148,20 +207,38 @@ public class OrderRepository {
 			컬렉션 페치조인으로 페이징할 경우 아래와 같은 경고 문구를 띄운다.
 			👉 WARN 42818 --- [nio-8080-exec-1] o.h.h.internal.ast.QueryTranslatorImpl   : HHH000104: firstResult/maxResults specified with collection fetch; applying in memory!
 			👉 이 경우 하이버네이트는 경고 로그를 남기고 모든 DB 데이터를 읽어서 메모리에서 페이징을 시도한다. 최악의 경우 장애로 이어질 수 있다.
+			👉 application.yml 의 fail_on_pagination_over_collection_fetch 설정으로 경고 대신 예외가 발생하도록 막아두었다.
+
+			해결: 2단계로 나누어 조회한다.
+			1. 페이징은 Order ID 만 DB에서 한다. (컬렉션 조인이 없으므로 DB limit/offset 이 정상 동작)
+			2. 해당 ID 들에 대해서만 컬렉션 페치조인으로 그래프를 조회한다. (페이징 X)
+			   👉 left join 이어야 주문상품이 없는 주문이 1단계에서 고른 페이지에서 빠지지 않는다.
 		 */
 
 		/*
 			(참고) 컬렉션 페치 조인은 1개만 할 수 있다.
 			👉 컬렉션 둘 이상에 대해 페치조인 하면 안 된다. 데이터가 부정확하게 조회될 수 있다.
 		 */
+		List<Long> orderIds = em.createQuery("""
+				select o.id from Order o
+				order by o.id""", Long.class)
+			.setFirstResult(offset)
+			.setMaxResults(limit)
+			.getResultList();
+
+		if (orderIds.isEmpty()) {
+			return List.of();
+		}
+
 		return em.createQuery("""
 				select distinct o from Order o
 				join fetch o.member m
 				join fetch o.delivery d
-				join fetch o.orderItems oi
-				join fetch oi.item i""", Order.class)
-			.setFirstResult(1)
-			.setMaxResults(100)
+				left join fetch o.orderItems oi
+				left join fetch oi.item i
+				where o.id in :orderIds
+				order by o.id""", Order.class)
+			.setParameter("orderIds", orderIds)
 			.getResultList();
 	}
 }
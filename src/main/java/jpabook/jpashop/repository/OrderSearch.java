@@ -1,13 +1,34 @@
 package jpabook.jpashop.repository;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
 import jpabook.jpashop.domain.order.OrderStatus;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * 주문 검색 조건 (null/빈 값이면 조건에서 뺀다.)
+ */
 @Getter
 @Setter
 public class OrderSearch {
 
 	private String memberName;
 	private OrderStatus orderStatus;
+
+	private Set<OrderStatus> orderStatuses; // 여러 상태 중 하나 (orderStatus 와 함께 주면 둘 다 만족)
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime orderDateFrom; // 이상
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime orderDateTo; // 미만
+
+	private Long itemId; // 이 상품을 포함한 주문
+
+	private OrderSort sort;
+	private Integer limit;
 }
@@ -0,0 +1,148 @@
+package jpabook.jpashop.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.springframework.util.StringUtils;
+
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderSummary;
+
+/**
+ * OrderSearch 동적 쿼리
+ * - 어떤 조건이 들어왔는지(모양, shape)를 비트로 만들고, 모양별 JPQL 은 처음 한 번만 만들어서 캐시한다.
+ *   👉 같은 모양이면 매번 같은 JPQL 문자열이 나가므로 하이버네이트 QueryPlanCache 에서 파싱 결과를 바로 찾는다.
+ *   👉 문자열 이어 붙이기(findAllByString)나 Criteria 재구성(findAllByCriteria)이 호출마다 일어나지 않는다.
+ * - 값은 호출마다 파라미터로 바인딩한다. (값이 JPQL 에 들어가지 않으므로 모양 수만큼만 plan 이 생긴다.)
+ * - 상태 여러 개(in 절)는 in_clause_parameter_padding 으로 파라미터 개수를 2의 거듭제곱으로 맞춰서 SQL 종류가 늘지 않게 한다.
+ * - 같은 조건을 주문 엔티티(ORDERS)와 주문 목록 조회 모델(SUMMARIES) 양쪽에 쓴다. (별칭은 둘 다 o)
+ */
+final class OrderSearchQuery<T> {
+
+	static final int MAX_LIMIT = 1000;
+
+	private static final int MEMBER_NAME = 1;
+	private static final int ORDER_STATUS = 1 << 1;
+	private static final int ORDER_STATUSES = 1 << 2;
+	private static final int ORDER_DATE_FROM = 1 << 3;
+	private static final int ORDER_DATE_TO = 1 << 4;
+	private static final int ITEM = 1 << 5;
+	private static final int SORT_SHIFT = 8;
+
+	static final OrderSearchQuery<Order> ORDERS = new OrderSearchQuery<>(Order.class, """
+		select o from Order o
+		join fetch o.member m
+		join fetch o.delivery d
+		where 1 = 1""", "m.name");
+
+	static final OrderSearchQuery<OrderSummary> SUMMARIES = new OrderSearchQuery<>(OrderSummary.class, """
+		select o from OrderSummary o
+		where 1 = 1""", "o.memberName");
+
+	private final Class<T> resultClass;
+	private final String select;
+	private final String memberName;
+	private final Map<Integer, String> jpqlByShape = new ConcurrentHashMap<>();
+
+	private OrderSearchQuery(Class<T> resultClass, String select, String memberName) {
+		this.resultClass = resultClass;
+		this.select = select;
+		this.memberName = memberName;
+	}
+
+	TypedQuery<T> create(EntityManager em, OrderSearch search) {
+		return bind(em.createQuery(jpql(search), resultClass), search);
+	}
+
+	String jpql(OrderSearch search) {
+		return jpqlByShape.computeIfAbsent(shape(search), this::build);
+	}
+
+	private TypedQuery<T> bind(TypedQuery<T> query, OrderSearch search) {
+		int shape = shape(search);
+
+		if ((shape & MEMBER_NAME) != 0) {
+			query.setParameter("memberName", prefixPattern(search.getMemberName()));
+		}
+		if ((shape & ORDER_STATUS) != 0) {
+			query.setParameter("orderStatus", search.getOrderStatus());
+		}
+		if ((shape & ORDER_STATUSES) != 0) {
+			query.setParameter("orderStatuses", search.getOrderStatuses());
+		}
+		if ((shape & ORDER_DATE_FROM) != 0) {
+			query.setParameter("orderDateFrom", search.getOrderDateFrom());
+		}
+		if ((shape & ORDER_DATE_TO) != 0) {
+			query.setParameter("orderDateTo", search.getOrderDateTo());
+		}
+		if ((shape & ITEM) != 0) {
+			query.setParameter("itemId", search.getItemId());
+		}
+
+		int limit = search.getLimit() == null ? MAX_LIMIT : Math.max(1, Math.min(search.getLimit(), MAX_LIMIT));
+		return query.setMaxResults(limit);
+	}
+
+	/**
+	 * "kim" -> "kim%" (%, _ 는 문자로 취급) 👉 회원명 인덱스 range scan
+	 */
+	private static String prefixPattern(String prefix) {
+		return prefix.replace("\\", "\\\\")
+			.replace("%", "\\%")
+			.replace("_", "\\_") + "%";
+	}
+
+	private static int shape(OrderSearch search) {
+		int shape = 0;
+		if (StringUtils.hasText(search.getMemberName())) {
+			shape |= MEMBER_NAME;
+		}
+		if (search.getOrderStatus() != null) {
+			shape |= ORDER_STATUS;
+		}
+		if (search.getOrderStatuses() != null && !search.getOrderStatuses().isEmpty()) {
+			shape |= ORDER_STATUSES;
+		}
+		if (search.getOrderDateFrom() != null) {
+			shape |= ORDER_DATE_FROM;
+		}
+		if (search.getOrderDateTo() != null) {
+			shape |= ORDER_DATE_TO;
+		}
+		if (search.getItemId() != null) {
+			shape |= ITEM;
+		}
+		OrderSort sort = search.getSort() == null ? OrderSort.ORDER_DATE_DESC : search.getSort();
+		return shape | sort.ordinal() << SORT_SHIFT;
+	}
+
+	private String build(int shape) {
+		StringBuilder jpql = new StringBuilder(select);
+
+		if ((shape & MEMBER_NAME) != 0) {
+			jpql.append(" and ").append(memberName).append(" like :memberName escape '\\'");
+		}
+		if ((shape & ORDER_STATUS) != 0) {
+			jpql.append(" and o.status = :orderStatus");
+		}
+		if ((shape & ORDER_STATUSES) != 0) {
+			jpql.append(" and o.status in :orderStatuses");
+		}
+		if ((shape & ORDER_DATE_FROM) != 0) {
+			jpql.append(" and o.orderDate >= :orderDateFrom");
+		}
+		if ((shape & ORDER_DATE_TO) != 0) {
+			jpql.append(" and o.orderDate < :orderDateTo");
+		}
+		if ((shape & ITEM) != 0) {
+			jpql.append(" and exists (select oi.id from OrderItem oi where oi.order.id = o.id and oi.item.id = :itemId)");
+		}
+
+		OrderSort sort = OrderSort.values()[shape >>> SORT_SHIFT];
+		return jpql.append(" order by ").append(sort.getOrderBy()).toString();
+	}
+}
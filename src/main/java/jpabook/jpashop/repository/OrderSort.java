@@ -0,0 +1,19 @@
+package jpabook.jpashop.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 검색 정렬 (id 를 마지막에 붙여서 정렬 결과가 항상 같도록 한다.)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderSort {
+
+	ORDER_DATE_DESC("o.orderDate desc, o.id desc"),
+	ORDER_DATE_ASC("o.orderDate asc, o.id asc"),
+	ID_DESC("o.id desc"),
+	ID_ASC("o.id asc");
+
+	private final String orderBy;
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.repository;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.stereotype.Repository;
+
+import jpabook.jpashop.domain.order.OrderSummary;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryRepository {
+
+	private final EntityManager em;
+
+	public void save(OrderSummary orderSummary) {
+		em.persist(orderSummary); // id 는 주문 id 를 그대로 쓰므로 persist (merge 면 SELECT 가 먼저 나간다.)
+	}
+
+	public OrderSummary findOne(Long orderId) {
+		return em.find(OrderSummary.class, orderId);
+	}
+
+	/**
+	 * 주문 목록 검색 (OrderRepository.search 와 같은 조건, 조인 없이 order_summary 한 테이블)
+	 */
+	public List<OrderSummary> search(OrderSearch orderSearch) {
+		return OrderSearchQuery.SUMMARIES.create(em, orderSearch).getResultList();
+	}
+}
@@ -0,0 +1,50 @@
+package jpabook.jpashop.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+
+import org.hibernate.LockOptions;
+import org.springframework.stereotype.Repository;
+
+import jpabook.jpashop.domain.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+	private final EntityManager em;
+
+	public void save(OutboxEvent event) {
+		em.persist(event);
+	}
+
+	/**
+	 * 발행할 이벤트를 오래된 순으로 limit 건 잠그고 가져온다. (트랜잭션 안에서 호출)
+	 * - select ... for update skip locked 👉 디스패처가 여러 대여도 다른 디스패처가 잡은 row 는 건너뛰고 다음 row 를 가져간다.
+	 * - skip locked 를 지원하지 않는 방언(H2)은 for update 로 동작한다. 👉 다른 디스패처는 커밋될 때까지 기다린다.
+	 */
+	public List<OutboxEvent> lockNextBatch(int limit) {
+		return em.createQuery("""
+				select e from OutboxEvent e
+				order by e.id""", OutboxEvent.class)
+			.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+			.setHint("javax.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
+	/**
+	 * 발행한 이벤트를 한 번에 지운다. (bulk delete, in 절)
+	 */
+	public int deleteAllById(Collection<Long> ids) {
+		return em.createQuery("""
+				delete from OutboxEvent e
+				where e.id in :ids""")
+			.setParameter("ids", ids)
+			.executeUpdate();
+	}
+}
@@ -0,0 +1,164 @@
+package jpabook.jpashop.repository.catalog.query;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 화면 선택 목록용 DTO 조회
+ * 엔티티를 영속성 컨텍스트에 올리지 않고 화면에 필요한 컬럼만 조회한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogQueryRepository {
+
+	private final EntityManager em;
+
+	public List<MemberOptionDto> findMemberOptions() {
+		return em.createQuery("""
+				select new jpabook.jpashop.repository.catalog.query.MemberOptionDto(m.id, m.name)
+				from Member m""", MemberOptionDto.class)
+			.getResultList();
+	}
+
+	public List<ItemOptionDto> findItemOptions() {
+		return em.createQuery("""
+				select new jpabook.jpashop.repository.catalog.query.ItemOptionDto(i.id, i.name, i.price, i.stockQuantity, i.version)
+				from Item i""", ItemOptionDto.class)
+			.getResultList();
+	}
+
+	/**
+	 * 카테고리 전체를 (id, name, parent_id) 로 한 번에 조회한다. (parent 프록시/children 컬렉션 로딩 X)
+	 * 👉 트리 구성은 메모리에서 한다. (CategoryTree)
+	 */
+	public List<CategoryRowDto> findCategoryRows() {
+		return em.createQuery("""
+				select new jpabook.jpashop.repository.catalog.query.CategoryRowDto(c.id, c.name, p.id)
+				from Category c
+				left join c.parent p""", CategoryRowDto.class)
+			.getResultList();
+	}
+
+	/**
+	 * 여러 카테고리에 속한 상품 (이름, id 순, 상품이 여러 카테고리에 있어도 한 번만)
+	 * 👉 category_item 을 category_id IN 으로 한 번에 읽는다. 카테고리 깊이와 상관없이 쿼리 1번
+	 */
+	public List<ItemOptionDto> findItemOptionsInCategories(Collection<Long> categoryIds, int limit) {
+		if (categoryIds.isEmpty()) {
+			return List.of();
+		}
+
+		return em.createQuery("""
+				select distinct new jpabook.jpashop.repository.catalog.query.ItemOptionDto(i.id, i.name, i.price, i.stockQuantity, i.version)
+				from Category c
+				join c.items i
+				where c.id in :categoryIds
+				order by i.name, i.id""", ItemOptionDto.class)
+			.setParameter("categoryIds", categoryIds)
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
+	/**
+	 * 상품 이름 prefix 검색 + Keyset 페이징 (name, id 순)
+	 * - idx_item_name(name, item_id) 인덱스로 prefix 범위를 찾고, 마지막으로 본 (name, id) 다음부터 limit 만큼만 읽는다.
+	 *   👉 offset 을 쓰지 않으므로 상품이 수백만 건이어도 페이지 깊이와 상관없이 비용이 일정하다.
+	 * - 가격/재고 조건은 인덱스로 찾은 행에서 거른다. 조건이 아주 까다로우면 그만큼 더 읽게 된다.
+	 *
+	 * @param afterName 이전 페이지 마지막 상품 이름 (첫 페이지면 null)
+	 * @param afterId   이전 페이지 마지막 상품 id (첫 페이지면 null)
+	 */
+	public List<ItemOptionDto> searchItems(ItemSearch search, String afterName, Long afterId, int limit) {
+		//language=JPQL
+		String jpql = """
+			select new jpabook.jpashop.repository.catalog.query.ItemOptionDto(i.id, i.name, i.price, i.stockQuantity, i.version)
+			from Item i
+			where 1 = 1""";
+
+		if (StringUtils.hasText(search.getNamePrefix())) {
+			jpql += " and i.name like :namePrefix escape '\\'";
+		}
+		if (search.getMinPrice() != null) {
+			jpql += " and i.price >= :minPrice";
+		}
+		if (search.getMaxPrice() != null) {
+			jpql += " and i.price <= :maxPrice";
+		}
+		if (search.isInStockOnly()) {
+			jpql += " and i.stockQuantity > 0";
+		}
+		if (afterName != null && afterId != null) {
+			jpql += " and (i.name > :afterName or (i.name = :afterName and i.id > :afterId))";
+		}
+		jpql += " order by i.name, i.id";
+
+		TypedQuery<ItemOptionDto> query = em.createQuery(jpql, ItemOptionDto.class)
+			.setMaxResults(limit);
+
+		if (StringUtils.hasText(search.getNamePrefix())) {
+			query.setParameter("namePrefix", prefixPattern(search.getNamePrefix()));
+		}
+		if (search.getMinPrice() != null) {
+			query.setParameter("minPrice", search.getMinPrice());
+		}
+		if (search.getMaxPrice() != null) {
+			query.setParameter("maxPrice", search.getMaxPrice());
+		}
+		if (afterName != null && afterId != null) {
+			query.setParameter("afterName", afterName);
+			query.setParameter("afterId", afterId);
+		}
+
+		return query.getResultList();
+	}
+
+	/**
+	 * 회원 이름 prefix 검색 + Keyset 페이징 (name, id 순) 👉 idx_member_name(name, member_id)
+	 */
+	public List<MemberOptionDto> searchMembers(String namePrefix, String afterName, Long afterId, int limit) {
+		//language=JPQL
+		String jpql = """
+			select new jpabook.jpashop.repository.catalog.query.MemberOptionDto(m.id, m.name)
+			from Member m
+			where 1 = 1""";
+
+		if (StringUtils.hasText(namePrefix)) {
+			jpql += " and m.name like :namePrefix escape '\\'";
+		}
+		if (afterName != null && afterId != null) {
+			jpql += " and (m.name > :afterName or (m.name = :afterName and m.id > :afterId))";
+		}
+		jpql += " order by m.name, m.id";
+
+		TypedQuery<MemberOptionDto> query = em.createQuery(jpql, MemberOptionDto.class)
+			.setMaxResults(limit);
+
+		if (StringUtils.hasText(namePrefix)) {
+			query.setParameter("namePrefix", prefixPattern(namePrefix));
+		}
+		if (afterName != null && afterId != null) {
+			query.setParameter("afterName", afterName);
+			query.setParameter("afterId", afterId);
+		}
+
+		return query.getResultList();
+	}
+
+	/**
+	 * "abc" -> "abc%" (사용자 입력의 %, _ 는 와일드카드가 아니라 문자로 취급한다.)
+	 * 👉 앞에 %가 붙지 않는 prefix 검색이어야 이름 인덱스를 range scan 으로 탄다.
+	 */
+	private String prefixPattern(String prefix) {
+		return prefix.replace("\\", "\\\\")
+			.replace("%", "\\%")
+			.replace("_", "\\_") + "%";
+	}
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository.catalog.query;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카테고리 트리 한 줄 (부모는 id 로만 가진다.)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CategoryRowDto {
+
+	private final Long id;
+	private final String name;
+	private final Long parentId; // 최상위면 null
+}
@@ -0,0 +1,41 @@
+package jpabook.jpashop.repository.catalog.query;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jpabook.jpashop.domain.item.Item;
+import lombok.Getter;
+
+/**
+ * 주문 화면의 상품 선택 목록 한 줄 (상품 검색 API 응답에도 사용)
+ * version 은 같은 상품의 변경 이벤트가 순서가 바뀌어 도착했을 때 옛 값으로 덮어쓰지 않기 위한 용도
+ */
+@Getter
+public class ItemOptionDto {
+
+	private final Long id;
+	private final String name;
+	private final int price;
+	private final int stockQuantity;
+	@JsonIgnore // 이벤트 순서 비교용. API 스펙에는 노출하지 않는다.
+	private final long version;
+
+	public ItemOptionDto(Long id, String name, int price, int stockQuantity, Long version) {
+		this.id = id;
+		this.name = name;
+		this.price = price;
+		this.stockQuantity = stockQuantity;
+		this.version = version != null ? version : 0;
+	}
+
+	public static ItemOptionDto from(Item item) {
+		return new ItemOptionDto(item.getId(), item.getName(), item.getPrice(), item.getStockQuantity(),
+			item.getVersion());
+	}
+
+	/**
+	 * 둘 중 더 최신 값
+	 */
+	public static ItemOptionDto newer(ItemOptionDto current, ItemOptionDto candidate) {
+		return candidate.version >= current.version ? candidate : current;
+	}
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.repository.catalog.query;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 상품 검색 조건 (null 이면 조건에서 뺀다.)
+ */
+@Getter
+@Setter
+public class ItemSearch {
+
+	private String namePrefix;
+	private Integer minPrice;
+	private Integer maxPrice;
+	private boolean inStockOnly;
+}
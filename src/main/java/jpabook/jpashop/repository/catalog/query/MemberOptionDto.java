@@ -0,0 +1,20 @@
+package jpabook.jpashop.repository.catalog.query;
+
+import jpabook.jpashop.domain.member.Member;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 화면의 회원 선택 목록 한 줄 (회원 검색 API 응답에도 사용)
+ */
+@Getter
+@RequiredArgsConstructor
+public class MemberOptionDto {
+
+	private final Long id;
+	private final String name;
+
+	public static MemberOptionDto from(Member member) {
+		return new MemberOptionDto(member.getId(), member.getName());
+	}
+}
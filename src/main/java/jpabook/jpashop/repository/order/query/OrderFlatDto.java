@@ -0,0 +1,68 @@
+package jpabook.jpashop.repository.order.query;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import jpabook.jpashop.domain.order.OrderStatus;
+import jpabook.jpashop.domain.type.Address;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+
+/**
+ * Order, Member, Delivery, OrderItem, Item 을 한 번에 조인한 Row (OrderItem 한 건당 한 Row)
+ * 주문상품이 없는 주문은 주문상품 컬럼이 모두 null 인 Row 하나로 나온다. (left join)
+ */
+@Data
+public class OrderFlatDto {
+
+	private Long orderId;
+	private String name;
+	private LocalDateTime orderDate;
+	private OrderStatus orderStatus;
+	private Address address;
+
+	@Getter(AccessLevel.NONE)
+	private boolean hasOrderItem;
+	private String itemName;
+	private int orderPrice;
+	private int count;
+
+	/**
+	 * Native SQL 결과(Object[]) 매핑
+	 * select 순서: order_id, name, order_date, status, city, street, zipcode, item_name, order_price, count
+	 */
+	public OrderFlatDto(Object[] row) {
+		this.orderId = ((Number)row[0]).longValue();
+		this.name = (String)row[1];
+		this.orderDate = toLocalDateTime(row[2]);
+		this.orderStatus = OrderStatus.valueOf((String)row[3]);
+		this.address = new Address((String)row[4], (String)row[5], (String)row[6]);
+		this.hasOrderItem = row[9] != null;
+		if (hasOrderItem) {
+			this.itemName = (String)row[7];
+			this.orderPrice = ((Number)row[8]).intValue();
+			this.count = ((Number)row[9]).intValue();
+		}
+	}
+
+	public boolean hasOrderItem() {
+		return hasOrderItem;
+	}
+
+	public OrderQueryDto toOrderQueryDto() {
+		return new OrderQueryDto(orderId, name, orderDate, orderStatus, address);
+	}
+
+	public OrderItemQueryDto toOrderItemQueryDto() {
+		return new OrderItemQueryDto(orderId, itemName, orderPrice, count);
+	}
+
+	// JDBC 드라이버에 따라 Timestamp 또는 LocalDateTime 으로 내려온다.
+	private static LocalDateTime toLocalDateTime(Object value) {
+		if (value instanceof Timestamp timestamp) {
+			return timestamp.toLocalDateTime();
+		}
+		return (LocalDateTime)value;
+	}
+}
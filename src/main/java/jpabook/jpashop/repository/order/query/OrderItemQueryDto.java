@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository.order.query;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+
+@Data
+public class OrderItemQueryDto {
+
+	@JsonIgnore // orderId 별로 묶기 위한 용도. API 스펙에는 노출하지 않는다.
+	private Long orderId;
+	private String itemName;
+	private int orderPrice;
+	private int count;
+
+	public OrderItemQueryDto(Long orderId, String itemName, int orderPrice, int count) {
+		this.orderId = orderId;
+		this.itemName = itemName;
+		this.orderPrice = orderPrice;
+		this.count = count;
+	}
+}
@@ -0,0 +1,36 @@
+package jpabook.jpashop.repository.order.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jpabook.jpashop.domain.order.OrderStatus;
+import jpabook.jpashop.domain.type.Address;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(of = "orderId")
+public class OrderQueryDto {
+
+	private Long orderId;
+	private String name;
+	private LocalDateTime orderDate;
+	private OrderStatus orderStatus;
+	private Address address;
+	private List<OrderItemQueryDto> orderItems;
+
+	// JPQL new 명령어로 생성하기 때문에 컬렉션(orderItems)은 생성자에 넣을 수 없다.
+	public OrderQueryDto(
+		Long orderId,
+		String name,
+		LocalDateTime orderDate,
+		OrderStatus orderStatus,
+		Address address
+	) {
+		this.orderId = orderId;
+		this.name = name;
+		this.orderDate = orderDate;
+		this.orderStatus = orderStatus;
+		this.address = address;
+	}
+}
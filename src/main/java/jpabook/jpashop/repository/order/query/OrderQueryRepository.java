@@ -0,0 +1,123 @@
+package jpabook.jpashop.repository.order.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 화면(API)에 맞춘 컬렉션 조회 전용 Repository
+ * 👉 엔티티(OrderRepository)와 분리해서 조회 스펙이 바뀌어도 엔티티 조회 로직에 영향이 없도록 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderQueryRepository {
+
+	private final EntityManager em;
+
+	/*
+		ToOne(Member, Delivery) 관계는 조인해도 Row 수가 증가하지 않으므로 루트 DTO 를 한 번에 조회하고,
+		ToMany(OrderItem) 관계는 루트 DTO 의 orderId 를 모아 IN 쿼리 한 번으로 조회한 뒤 메모리에서 Map 으로 묶는다.
+		👉 주문 수와 상관없이 쿼리 2번 (Order 1번 + OrderItem 1번)
+		👉 엔티티를 조회하지 않으므로 영속성 컨텍스트에 관리되는 엔티티가 없다.
+		- 페이징: 루트 DTO 를 order_id keyset 으로 limit 만큼만 조회한다. 👉 IN 쿼리도 페이지 크기만큼이라 테이블이 커져도 일정하다.
+	 */
+	public List<OrderQueryDto> findAllByDto_optimization(long afterOrderId, int limit) {
+		List<OrderQueryDto> result = findOrders(afterOrderId, limit);
+
+		Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
+
+		result.forEach(o -> o.setOrderItems(orderItemMap.getOrDefault(o.getOrderId(), List.of())));
+
+		return result;
+	}
+
+	/*
+		Order, Member, Delivery, OrderItem, Item 을 SQL 조인 한 번으로 조회한다. (flat row)
+		- 페이징: JPQL 은 서브쿼리에 limit 을 걸 수 없으므로 Native SQL 로 order_id 를 keyset 으로 limit 만큼 먼저 자른 뒤 조인한다.
+		  👉 OrderItem 조인으로 Row 가 뻥튀기 되어도 Order 기준으로 정확하게 페이징된다.
+		- 주문상품은 left join 👉 주문상품이 없는 주문도 페이지에서 빠지지 않는다. (빈 orderItems)
+		- 정렬이 order_id 기준이므로 같은 주문의 Row 가 연속해서 나온다. 👉 한 번 훑으면서(single pass) 주문 단위로 묶는다.
+		👉 쿼리는 1번이지만 Order 데이터가 OrderItem 수 만큼 중복 전송되므로 주문당 상품이 많으면 v5 보다 느릴 수 있다.
+	 */
+	public List<OrderQueryDto> findAllByDto_flat(long afterOrderId, int limit) {
+		@SuppressWarnings("unchecked")
+		List<Object[]> rows = em.createNativeQuery("""
+				select o.order_id, m.name, o.order_date, o.status,
+				       d.city, d.street, d.zipcode,
+				       i.name as item_name, oi.order_price, oi.count
+				from (select order_id from orders
+				      where order_id > :afterOrderId
+				      order by order_id
+				      limit :limit) p
+				join orders o on o.order_id = p.order_id
+				join member m on m.member_id = o.member_id
+				join delivery d on d.delivery_id = o.delivery_id
+				left join order_item oi on oi.order_id = o.order_id
+				left join item i on i.item_id = oi.item_id
+				order by o.order_id, oi.order_item_id""")
+			.setParameter("afterOrderId", afterOrderId)
+			.setParameter("limit", limit)
+			.getResultList();
+
+		List<OrderQueryDto> result = new ArrayList<>();
+		OrderQueryDto current = null;
+
+		for (Object[] row : rows) {
+			OrderFlatDto flat = new OrderFlatDto(row);
+
+			if (current == null || !current.getOrderId().equals(flat.getOrderId())) {
+				current = flat.toOrderQueryDto();
+				current.setOrderItems(new ArrayList<>());
+				result.add(current);
+			}
+			if (flat.hasOrderItem()) {
+				current.getOrderItems().add(flat.toOrderItemQueryDto());
+			}
+		}
+
+		return result;
+	}
+
+	private List<OrderQueryDto> findOrders(long afterOrderId, int limit) {
+		return em.createQuery("""
+				select new jpabook.jpashop.repository.order.query.OrderQueryDto(o.id, m.name, o.orderDate, o.status, d.address)
+				from Order o
+				join o.member m
+				join o.delivery d
+				where o.id > :afterOrderId
+				order by o.id""", OrderQueryDto.class)
+			.setParameter("afterOrderId", afterOrderId)
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
+	private List<Long> toOrderIds(List<OrderQueryDto> result) {
+		return result.stream()
+			.map(OrderQueryDto::getOrderId)
+			.toList();
+	}
+
+	private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
+		if (orderIds.isEmpty()) {
+			return Map.of();
+		}
+
+		List<OrderItemQueryDto> orderItems = em.createQuery("""
+				select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)
+				from OrderItem oi
+				join oi.item i
+				where oi.order.id in :orderIds""", OrderItemQueryDto.class)
+			.setParameter("orderIds", orderIds)
+			.getResultList();
+
+		return orderItems.stream()
+			.collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+	}
+}
@@ -14,18 +14,24 @@ public class OrderSimpleQueryDto {
 	private LocalDateTime orderDate;
 	private OrderStatus orderStatus;
 	private Address address;
+	private Integer totalPrice; // orders.total_price 👉 order_item 을 조회하지 않는다.
+	private Integer itemCount;
 
 	public OrderSimpleQueryDto(
 		Long orderId,
 		String name,
 		LocalDateTime orderDate,
 		OrderStatus orderStatus,
-		Address address
+		Address address,
+		Integer totalPrice,
+		Integer itemCount
 	) {
 		this.orderId = orderId;
 		this.name = name;
 		this.orderDate = orderDate;
 		this.orderStatus = orderStatus;
 		this.address = address;
+		this.totalPrice = totalPrice;
+		this.itemCount = itemCount;
 	}
 }
@@ -33,7 +33,7 @@ public class OrderSimpleQueryRepository {
 	// 엔티티를 퍼올리는게 아니기 때문에 값을 수정하거나 할 수는 없음
 	public List<OrderSimpleQueryDto> findOrderDtos() {
 		return em.createQuery("""
-				select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address) from Order o
+				select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice, o.itemCount) from Order o
 				join o.member m
 				join o.delivery d""", OrderSimpleQueryDto.class)
 			.getResultList();
@@ -0,0 +1,25 @@
+package jpabook.jpashop.service;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 대량 주문의 주문 한 건 (회원 한 명이 여러 상품을 주문)
+ */
+@Getter
+@RequiredArgsConstructor
+public class BulkOrderDto {
+
+	private final Long memberId;
+	private final List<Line> lines;
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Line {
+
+		private final Long itemId;
+		private final int count;
+	}
+}
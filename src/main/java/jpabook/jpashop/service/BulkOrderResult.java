@@ -0,0 +1,38 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 대량 주문의 주문 한 건에 대한 결과 (요청 순서와 같은 순서로 내려준다.)
+ * 실패한 주문은 orderId 가 null 이고 error 에 사유가 담긴다. (exception 은 서버 안에서만 사용, 응답에 내려가지 않는다.)
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkOrderResult {
+
+	private final Long orderId;
+	private final String error;
+
+	@JsonIgnore
+	private final RuntimeException exception;
+
+	public static BulkOrderResult success(Long orderId) {
+		return new BulkOrderResult(orderId, null, null);
+	}
+
+	public static BulkOrderResult failure(String error) {
+		return failure(new IllegalStateException(error));
+	}
+
+	public static BulkOrderResult failure(RuntimeException exception) {
+		return new BulkOrderResult(null, exception.getMessage(), exception);
+	}
+
+	public boolean isSuccess() {
+		return orderId != null;
+	}
+}
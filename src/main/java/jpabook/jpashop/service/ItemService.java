@@ -2,11 +2,14 @@ package jpabook.jpashop.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.catalog.ItemChangedEvent;
+import jpabook.jpashop.service.stock.StockReservationLedger;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -15,14 +18,21 @@ import lombok.RequiredArgsConstructor;
 public class ItemService {
 
 	private final ItemRepository itemRepository;
+	private final StockReservationLedger stockReservationLedger;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Transactional
 	public void saveItem(Item item) {
-		itemRepository.save(item);
+		Item saved = itemRepository.save(item);
+		eventPublisher.publishEvent(new ItemChangedEvent(saved)); // 주문 화면 상품 목록 갱신 (커밋 후)
 	}
 
 	@Transactional
 	public void updateItem(Long itemId, UpdateItemDto itemDto) {
+		if (stockReservationLedger.isEnabled()) {
+			stockReservationLedger.evictAround(itemId); // 메모리 재고 장부를 DB 에 반영하고, 커밋 후 수정된 재고로 다시 만든다.
+		}
+
 		Item findItem = itemRepository.findOne(itemId);
 
 		/*
@@ -32,6 +42,8 @@ public class ItemService {
 		findItem.setName(itemDto.getName());
 		findItem.setPrice(itemDto.getPrice());
 		findItem.setStockQuantity(itemDto.getStockQuantity());
+
+		eventPublisher.publishEvent(new ItemChangedEvent(findItem));
 	}
 
 	public List<Item> findItems() {
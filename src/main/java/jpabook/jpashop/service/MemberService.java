@@ -2,11 +2,17 @@ package jpabook.jpashop.service;
 
 import java.util.List;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jpabook.jpashop.domain.member.Member;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.service.catalog.MemberChangedEvent;
+import jpabook.jpashop.service.member.MemberNameFilter;
+import jpabook.jpashop.service.summary.OrderSummaryProjector;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -15,20 +21,30 @@ import lombok.RequiredArgsConstructor;
 public class MemberService {
 
 	private final MemberRepository memberRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final OrderSummaryProjector orderSummaryProjector;
+	private final MemberNameFilter memberNameFilter;
 
 	/**
 	 * 회원 가입
+	 * - 처음 보는 이름(MemberNameFilter 가 false)이면 중복 조회 없이 바로 INSERT 한다. (대부분의 가입)
+	 * - 중복은 최종적으로 유니크 제약(uk_member_name)이 막고, 같은 "이미 존재하는 회원입니다." 예외로 바꿔서 던진다.
 	 */
 	@Transactional
 	public Long join(Member member) {
-		validateDuplicateMember(member);
+		if (memberNameFilter.mightContain(member.getName())) {
+			validateDuplicateMember(member);
+		}
 		memberRepository.save(member);
+		flushUniqueName();
+		memberNameFilter.put(member.getName());
+		eventPublisher.publishEvent(new MemberChangedEvent(member)); // 주문 화면 회원 목록 갱신 (커밋 후)
 		return member.getId();
 	}
 
 	/**
-	 * 2명이 동시에 validateDuplicateMember()를 호출할 수 있다. (멀티스레드 환경 고려)0
-	 * 따라서, 'name'에 unique 제약조건을 두는 것을 권장.
+	 * 2명이 동시에 validateDuplicateMember()를 호출할 수 있다. (멀티스레드 환경 고려)
+	 * 👉 둘 다 통과해도 나중에 INSERT 하는 쪽은 유니크 제약에 걸린다. (flushUniqueName)
 	 */
 	private void validateDuplicateMember(Member member) {
 		List<Member> findMembers = memberRepository.findByName(member.getName());
@@ -37,6 +53,31 @@ public class MemberService {
 		}
 	}
 
+	/**
+	 * INSERT/UPDATE 를 바로 실행해서 회원명 유니크 위반을 중복 회원 예외로 바꾼다.
+	 * 다른 제약 위반은 그대로 던진다.
+	 */
+	private void flushUniqueName() {
+		try {
+			memberRepository.flush();
+		} catch (DataIntegrityViolationException e) {
+			if (isDuplicateName(e)) {
+				throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+			}
+			throw e;
+		}
+	}
+
+	private boolean isDuplicateName(DataIntegrityViolationException e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+				// H2 는 "PUBLIC.UK_MEMBER_NAME_INDEX_8" 처럼 스키마/인덱스 이름이 붙어서 나온다.
+				return violation.getConstraintName().toLowerCase().contains(Member.UK_NAME);
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * 전체 회원 조회
 	 */
@@ -52,5 +93,9 @@ public class MemberService {
 	public void update(Long id, String name) {
 		Member member = memberRepository.findOne(id);
 		member.setName(name);
+		flushUniqueName();
+		memberNameFilter.put(name);
+		orderSummaryProjector.memberRenamed(member); // 주문 목록 조회 모델의 회원명
+		eventPublisher.publishEvent(new MemberChangedEvent(member));
 	}
 }
@@ -0,0 +1,70 @@
+package jpabook.jpashop.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.ScrollableResults;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class OrderExportService {
+
+	private final OrderRepository orderRepository;
+	private final EntityManager em;
+
+	/**
+	 * 전체 주문 export
+	 * - 주문을 chunkSize 만큼 모아서 chunkWriter 에 넘기고, 넘긴 뒤에는 영속성 컨텍스트를 비운다.
+	 * - chunk 단위로 넘기기 때문에 OrderItem, Item 은 chunk 마다 IN 쿼리(default_batch_fetch_size)로 조회된다.
+	 * 👉 chunkWriter 는 chunk 안의 엔티티를 DTO 로 변환해서 바로 내보내야 한다. (em.clear() 이후에는 준영속 상태)
+	 *
+	 * @param chunkSize 1 이상 (0 이면 chunk 를 내보내지 않아 전체 주문이 영속성 컨텍스트에 쌓인다.)
+	 * @return export 한 주문 수
+	 */
+	public long export(int chunkSize, Consumer<List<Order>> chunkWriter) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize 는 1 이상이어야 합니다. " + chunkSize);
+		}
+
+		long count = 0;
+		List<Order> chunk = new ArrayList<>(chunkSize);
+
+		ScrollableResults results = orderRepository.scrollAllWithMemberDelivery(chunkSize);
+		try {
+			while (results.next()) {
+				chunk.add((Order)results.get(0));
+
+				if (chunk.size() == chunkSize) {
+					count += flushChunk(chunk, chunkWriter);
+				}
+			}
+
+			if (!chunk.isEmpty()) {
+				count += flushChunk(chunk, chunkWriter);
+			}
+		} finally {
+			results.close();
+		}
+
+		return count;
+	}
+
+	private int flushChunk(List<Order> chunk, Consumer<List<Order>> chunkWriter) {
+		chunkWriter.accept(chunk);
+		int size = chunk.size();
+
+		chunk.clear();
+		em.clear(); // 이미 내보낸 엔티티가 영속성 컨텍스트에 계속 쌓이지 않도록 한다.
+		return size;
+	}
+}
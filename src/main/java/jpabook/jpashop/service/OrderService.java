@@ -1,7 +1,17 @@
 package jpabook.jpashop.service;
 
+import static java.util.stream.Collectors.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,10 +20,17 @@ import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.domain.member.Member;
 import jpabook.jpashop.domain.order.Order;
 import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.order.OrderSummary;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.service.catalog.ItemChangedEvent;
+import jpabook.jpashop.service.outbox.OrderOutbox;
+import jpabook.jpashop.service.stock.StockReservationLedger;
+import jpabook.jpashop.service.summary.OrderSummaryProjector;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -24,6 +41,11 @@ public class OrderService {
 	private final OrderRepository orderRepository;
 	private final MemberRepository memberRepository;
 	private final ItemRepository itemRepository;
+	private final StockReservationLedger stockReservationLedger;
+	private final ApplicationEventPublisher eventPublisher;
+	private final OrderSummaryProjector orderSummaryProjector;
+	private final OrderSummaryRepository orderSummaryRepository;
+	private final OrderOutbox orderOutbox;
 
 	/**
 	 * 주문
@@ -39,17 +61,107 @@ public class OrderService {
 		Delivery delivery = new Delivery();
 		delivery.setAddress(member.getAddress());
 
+		// 재고 차감
+		reserveStock(item, count);
+
 		// 주문상품 생성
-		OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+		OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), count);
 
 		// 주문 생성
 		Order order = Order.createOrder(member, delivery, orderItem);
 
 		// 저장
 		orderRepository.save(order);
+		orderSummaryProjector.created(order); // 주문 목록 조회 모델
+		orderOutbox.placed(order); // 외부 시스템 알림은 OutboxDispatcher 가 커밋 후 백그라운드로 발행
 		return order.getId();
 	}
 
+	/**
+	 * 대량 주문 (주문 여러 건, 주문 한 건에 상품 여러 개)
+	 * - 회원, 상품은 요청 전체에 대해 IN 쿼리 한 번씩으로 조회한다.
+	 * - 재고는 요청 전체의 수량을 상품별로 합쳐서 상품당 조건부 UPDATE 한 번으로 차감한다. (JDBC 배치 하나)
+	 *   👉 주문 수, 주문 줄 수와 상관없이 재고 UPDATE 는 상품 수만큼이고 왕복은 한 번이다.
+	 *   👉 조건부 UPDATE 라 다른 트랜잭션이 같은 상품을 동시에 주문해도 낙관적 락 예외로 요청 전체가 롤백되지 않는다.
+	 * - Order, OrderItem, Delivery INSERT 는 hibernate.jdbc.batch_size 단위로 묶여서 나간다.
+	 *   👉 pooled 시퀀스라 persist 할 때마다 시퀀스를 조회하지 않는다.
+	 * - 재고 부족 등으로 실패한 주문은 건너뛰고 결과에 사유를 남긴다. 나머지 주문은 그대로 저장된다.
+	 *
+	 * @return 요청과 같은 순서의 주문별 결과
+	 */
+	@Transactional
+	public List<BulkOrderResult> orderBulk(List<BulkOrderDto> orders) {
+		Map<Long, Member> members = memberRepository.findAllById(orders.stream()
+				.map(BulkOrderDto::getMemberId)
+				.filter(Objects::nonNull)
+				.collect(toSet()))
+			.stream()
+			.collect(toMap(Member::getId, Function.identity()));
+
+		Map<Long, Item> items = itemRepository.findAllById(orders.stream()
+				.flatMap(order -> order.getLines().stream())
+				.map(BulkOrderDto.Line::getItemId)
+				.filter(Objects::nonNull)
+				.collect(toSet()))
+			.stream()
+			.collect(toMap(Item::getId, Function.identity()));
+
+		List<PendingOrder> pendingOrders = orders.stream()
+			.map(order -> validate(order, members, items))
+			.toList();
+
+		reserveStock(pendingOrders.stream().filter(PendingOrder::isValid).toList(), items);
+
+		List<BulkOrderResult> results = new ArrayList<>(orders.size());
+		for (PendingOrder pendingOrder : pendingOrders) {
+			results.add(pendingOrder.isValid() ? placeOrder(pendingOrder, members, items) : pendingOrder.failure);
+		}
+		return results;
+	}
+
+	private PendingOrder validate(BulkOrderDto orderDto, Map<Long, Member> members, Map<Long, Item> items) {
+		PendingOrder pendingOrder = new PendingOrder(orderDto);
+		if (!members.containsKey(orderDto.getMemberId())) {
+			return pendingOrder.fail("존재하지 않는 회원입니다.");
+		}
+		if (orderDto.getLines().isEmpty()) {
+			return pendingOrder.fail("주문 상품이 없습니다.");
+		}
+
+		// 같은 상품이 여러 줄에 나오면 합쳐서 재고를 확인한다.
+		for (BulkOrderDto.Line line : orderDto.getLines()) {
+			if (!items.containsKey(line.getItemId())) {
+				return pendingOrder.fail("존재하지 않는 상품입니다.");
+			}
+			if (line.getCount() <= 0) {
+				return pendingOrder.fail("주문 수량은 1개 이상이어야 합니다.");
+			}
+			pendingOrder.quantities.merge(line.getItemId(), line.getCount(), Integer::sum);
+		}
+		return pendingOrder;
+	}
+
+	private BulkOrderResult placeOrder(PendingOrder pendingOrder, Map<Long, Member> members, Map<Long, Item> items) {
+		BulkOrderDto orderDto = pendingOrder.order;
+		Member member = members.get(orderDto.getMemberId());
+
+		Delivery delivery = new Delivery();
+		delivery.setAddress(member.getAddress());
+
+		OrderItem[] orderItems = orderDto.getLines().stream()
+			.map(line -> {
+				Item item = items.get(line.getItemId());
+				return OrderItem.createReservedOrderItem(item, item.getPrice(), line.getCount());
+			})
+			.toArray(OrderItem[]::new);
+
+		Order order = Order.createOrder(member, delivery, orderItems);
+		orderRepository.save(order); // INSERT 는 flush 때 모아서 나간다.
+		orderSummaryProjector.created(order);
+		orderOutbox.placed(order);
+		return BulkOrderResult.success(order.getId());
+	}
+
 	// 취소
 	@Transactional
 	public void cancelOrder(Long orderId) {
@@ -58,11 +170,153 @@ public class OrderService {
 		Order order = orderRepository.findOne(orderId);
 
 		// 주문 취소
-		order.cancel(); // 변경감지
+		order.cancel(); // 변경감지 (주문 상태)
+		orderSummaryProjector.canceled(order);
+		orderOutbox.canceled(order);
+
+		// 재고 반환도 차감처럼 조건 없는 UPDATE 한 번 👉 같은 상품의 주문과 동시에 일어나도 충돌하지 않는다.
+		for (OrderItem orderItem : order.getOrderItems()) {
+			Item item = orderItem.getItem();
+			itemRepository.addStock(item, orderItem.getCount());
+			if (stockReservationLedger.isEnabled()) {
+				stockReservationLedger.release(item.getId(), orderItem.getCount());
+			}
+			eventPublisher.publishEvent(new ItemChangedEvent(item));
+		}
+	}
+
+	/**
+	 * - 기본: 동시 주문에도 초과 판매되지 않도록 DB 에서 조건부 UPDATE 로 원자적으로 차감
+	 * - 메모리 재고 장부 사용 시: 메모리에서 수락/거절하고 DB 에는 주기적으로 모아서 반영 (플래시 세일)
+	 */
+	private void reserveStock(Item item, int count) {
+		if (stockReservationLedger.isEnabled()) {
+			stockReservationLedger.reserve(item.getId(), count);
+			return;
+		}
+
+		if (!itemRepository.removeStock(item, count)) {
+			throw new NotEnoughStockException("need more stock");
+		}
+		eventPublisher.publishEvent(new ItemChangedEvent(item)); // 주문 화면 재고 갱신 (커밋 후)
+	}
+
+	/**
+	 * 대량 주문 재고 차감
+	 * - 읽어둔 재고로 요청 순서대로 주문을 수락/거절하고(메모리), 수락한 주문의 수량을 상품별로 합쳐서 한 번에 차감한다.
+	 * - 그 사이에 다른 트랜잭션이 재고를 가져가서 합계를 차감하지 못한 상품(0건)이 있을 때만,
+	 *   그 상품이 들어간 주문을 한 건씩 다시 차감한다. (reserveOneByOne)
+	 */
+	private void reserveStock(List<PendingOrder> orders, Map<Long, Item> items) {
+		if (stockReservationLedger.isEnabled()) {
+			for (PendingOrder order : orders) {
+				try {
+					stockReservationLedger.reserveAll(order.quantities);
+				} catch (NotEnoughStockException e) {
+					order.fail(e);
+				}
+			}
+			return;
+		}
+
+		Map<Long, Integer> available = new HashMap<>();
+		Map<Item, Integer> totals = new LinkedHashMap<>();
+		List<PendingOrder> accepted = new ArrayList<>();
+		for (PendingOrder order : orders) {
+			boolean enough = order.quantities.entrySet().stream()
+				.allMatch(line -> available.computeIfAbsent(line.getKey(), itemId -> items.get(itemId).getStockQuantity())
+					>= line.getValue());
+			if (!enough) { // 모자란 게 뻔한 주문은 UPDATE 없이 실패시킨다.
+				order.fail(new NotEnoughStockException("need more stock"));
+				continue;
+			}
+
+			order.quantities.forEach((itemId, quantity) -> {
+				available.merge(itemId, -quantity, Integer::sum);
+				totals.merge(items.get(itemId), quantity, Integer::sum);
+			});
+			accepted.add(order);
+		}
+
+		Set<Long> notRemoved = itemRepository.removeStockAll(totals);
+		if (!notRemoved.isEmpty()) {
+			reserveOneByOne(accepted, items, notRemoved);
+		}
+		totals.keySet().forEach(item -> eventPublisher.publishEvent(new ItemChangedEvent(item))); // 주문 화면 재고 갱신 (커밋 후)
+	}
+
+	/**
+	 * 합계를 차감하지 못한 상품이 들어간 주문만 한 건씩 조건부 UPDATE 로 다시 차감한다.
+	 * 차감하지 못한 주문은 실패시키고, 합계로 이미 차감된 그 주문의 다른 상품 수량은 모아서 한 번에 되돌린다.
+	 */
+	private void reserveOneByOne(List<PendingOrder> accepted, Map<Long, Item> items, Set<Long> notRemoved) {
+		Map<Item, Integer> refunds = new LinkedHashMap<>();
+		for (PendingOrder order : accepted) {
+			if (order.quantities.keySet().stream().noneMatch(notRemoved::contains)) {
+				continue;
+			}
+
+			Map<Item, Integer> removed = new LinkedHashMap<>();
+			for (Map.Entry<Long, Integer> line : order.quantities.entrySet()) {
+				if (!notRemoved.contains(line.getKey())) {
+					continue;
+				}
+				Item item = items.get(line.getKey());
+				if (!itemRepository.removeStock(item, line.getValue())) {
+					removed.forEach(itemRepository::addStock);
+					order.quantities.forEach((itemId, quantity) -> {
+						if (!notRemoved.contains(itemId)) {
+							refunds.merge(items.get(itemId), quantity, Integer::sum);
+						}
+					});
+					order.fail(new NotEnoughStockException("need more stock"));
+					break;
+				}
+				removed.put(item, line.getValue());
+			}
+		}
+
+		if (!refunds.isEmpty()) {
+			itemRepository.addStockAll(refunds);
+		}
 	}
 
 	// 검색
 	public List<Order> findOrders(OrderSearch orderSearch) {
-		return orderRepository.findAllByString(orderSearch);
+		return orderRepository.search(orderSearch);
+	}
+
+	/**
+	 * 주문 목록 검색 (조회 모델 order_summary 한 테이블만 읽는다.)
+	 */
+	public List<OrderSummary> findOrderSummaries(OrderSearch orderSearch) {
+		return orderSummaryRepository.search(orderSearch);
+	}
+
+	/**
+	 * 대량 주문의 주문 한 건 (검증, 재고 차감 결과)
+	 */
+	private static class PendingOrder {
+
+		private final BulkOrderDto order;
+		private final Map<Long, Integer> quantities = new LinkedHashMap<>(); // 상품 id 👉 수량 합계
+		private BulkOrderResult failure;
+
+		private PendingOrder(BulkOrderDto order) {
+			this.order = order;
+		}
+
+		private boolean isValid() {
+			return failure == null;
+		}
+
+		private PendingOrder fail(String error) {
+			this.failure = BulkOrderResult.failure(error);
+			return this;
+		}
+
+		private void fail(RuntimeException exception) {
+			this.failure = BulkOrderResult.failure(exception);
+		}
 	}
 }
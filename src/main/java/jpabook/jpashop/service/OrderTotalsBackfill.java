@@ -0,0 +1,95 @@
+package jpabook.jpashop.service;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * orders.total_price, orders.item_count 백필
+ * - 컬럼이 생기기 전에 만들어진 주문(null)을 chunk-size 건씩 order_item 합계로 채운다.
+ * - chunk 마다 트랜잭션을 나눠서 커밋한다. 👉 긴 트랜잭션/큰 undo 없이 운영 중에도 돌릴 수 있고, 중간에 멈춰도 이어서 하면 된다.
+ * - 애플리케이션 시작 시 한 번 실행한다. (채울 주문이 없으면 조회 1번으로 끝난다.)
+ */
+@Slf4j
+@Component
+public class OrderTotalsBackfill {
+
+	private final EntityManager em;
+	private final TransactionTemplate tx;
+	private final boolean enabled;
+	private final int chunkSize;
+
+	public OrderTotalsBackfill(
+		EntityManager em,
+		PlatformTransactionManager transactionManager,
+		@Value("${jpashop.order.totals-backfill.enabled:true}") boolean enabled,
+		@Value("${jpashop.order.totals-backfill.chunk-size:1000}") int chunkSize
+	) {
+		this.em = em;
+		this.tx = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.chunkSize = chunkSize;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (!enabled) {
+			return;
+		}
+		long backfilled = backfill();
+		if (backfilled > 0) {
+			log.info("order totals backfilled. orders={}", backfilled);
+		}
+	}
+
+	/**
+	 * @return 채운 주문 수
+	 */
+	public long backfill() {
+		long total = 0;
+		int backfilled;
+		do {
+			backfilled = tx.execute(status -> backfillChunk());
+			total += backfilled;
+		} while (backfilled == chunkSize);
+		return total;
+	}
+
+	private int backfillChunk() {
+		List<Long> orderIds = em.createQuery("""
+				select o.id from Order o
+				where o.totalPrice is null or o.itemCount is null
+				order by o.id""", Long.class)
+			.setMaxResults(chunkSize)
+			.getResultList();
+
+		if (orderIds.isEmpty()) {
+			return 0;
+		}
+
+		// JPQL bulk update 는 update 문에 별칭을 남기지 않아서 상관 서브쿼리가 꼬일 수 있다. 👉 테이블명으로 직접 쓴다.
+		em.createNativeQuery("""
+				update orders
+				set total_price = (select coalesce(sum(oi.order_price * oi.count), 0)
+				                   from order_item oi
+				                   where oi.order_id = orders.order_id),
+				    item_count = (select count(*)
+				                  from order_item oi
+				                  where oi.order_id = orders.order_id)
+				where order_id in (:orderIds)""")
+			.setParameter("orderIds", orderIds)
+			.executeUpdate();
+
+		em.clear(); // bulk update 는 영속성 컨텍스트를 거치지 않는다.
+		return orderIds.size();
+	}
+}
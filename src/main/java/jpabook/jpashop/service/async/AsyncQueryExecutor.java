@@ -0,0 +1,140 @@
+package jpabook.jpashop.service.async;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서로 독립적인 읽기 전용 조회를 동시에 실행한다. (fan-out 후 join)
+ * - 작업마다 별도 스레드 + 읽기 전용 트랜잭션 👉 각자 커넥션 풀에서 커넥션을 하나씩 받아서 동시에 조회한다.
+ *   👉 호출한 쪽의 트랜잭션/영속성 컨텍스트는 이어지지 않는다. 결과는 DTO 로 받는 것이 안전하다.
+ * - 스레드 수(pool-size)와 대기열(queue-capacity)이 정해져 있다. 대기열까지 차면 호출한 스레드가 직접 실행한다. (순차 실행으로 후퇴)
+ *   👉 이때도 REQUIRES_NEW 로 새 트랜잭션에서 실행한다. (호출한 쪽 트랜잭션이 있으면 잠시 보류되고 커넥션을 하나 더 쓴다.)
+ *   👉 pool-size 는 커넥션 풀 크기보다 충분히 작게 잡는다. 작업 안에서 다시 submit 하지 않는다. (커넥션 고갈/교착)
+ * - timeout: 트랜잭션 timeout 으로 넘겨서 JDBC 쿼리 timeout 이 걸리고, 대기열에서 기다리다 이미 시간이 지난 작업은 실행하지 않는다.
+ * - 메트릭 (/actuator/metrics)
+ *   👉 jpashop.async.query.queue      : 대기열에서 기다린 시간 (크면 pool-size 부족)
+ *   👉 jpashop.async.query.execution  : 조회 실행 시간
+ *   👉 jpashop.async.query.saturated  : 대기열이 차서 호출 스레드가 직접 실행한 횟수
+ *   👉 executor.active / executor.queued / executor.pool.size ... (name=jpashop.async.query)
+ */
+@Slf4j
+@Component
+public class AsyncQueryExecutor {
+
+	/**
+	 * 기동 시 전체 목록 적재처럼 오래 걸려도 되는 조회용 timeout
+	 */
+	public static final Duration BULK_LOAD_TIMEOUT = Duration.ofSeconds(60);
+
+	private final ThreadPoolExecutor threadPool;
+	private final ExecutorService executor;
+	private final PlatformTransactionManager transactionManager;
+	private final Duration defaultTimeout;
+
+	private final Timer queueTime;
+	private final Timer executionTime;
+	private final Counter saturated;
+
+	public AsyncQueryExecutor(
+		PlatformTransactionManager transactionManager,
+		MeterRegistry meterRegistry,
+		@Value("${jpashop.async-query.pool-size:4}") int poolSize,
+		@Value("${jpashop.async-query.queue-capacity:64}") int queueCapacity,
+		@Value("${jpashop.async-query.timeout-ms:2000}") long timeoutMillis
+	) {
+		this.transactionManager = transactionManager;
+		this.defaultTimeout = Duration.ofMillis(timeoutMillis);
+
+		this.queueTime = meterRegistry.timer("jpashop.async.query.queue");
+		this.executionTime = meterRegistry.timer("jpashop.async.query.execution");
+		this.saturated = meterRegistry.counter("jpashop.async.query.saturated");
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.threadPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity),
+			runnable -> {
+				Thread thread = new Thread(runnable, "async-query-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			},
+			(runnable, pool) -> {
+				saturated.increment();
+				if (!pool.isShutdown()) {
+					runnable.run(); // CallerRuns
+				}
+			});
+		this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "jpashop.async.query");
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> query) {
+		return submit(query, defaultTimeout);
+	}
+
+	/**
+	 * @param query   읽기 전용 조회 (별도 트랜잭션에서 실행)
+	 * @param timeout 대기열 대기 + 실행 전체 시간 제한
+	 */
+	public <T> CompletableFuture<T> submit(Supplier<T> query, Duration timeout) {
+		long submittedAt = System.nanoTime();
+		long deadline = submittedAt + timeout.toNanos();
+
+		CompletableFuture<T> future = new CompletableFuture<>();
+		executor.execute(() -> {
+			long startedAt = System.nanoTime();
+			queueTime.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+
+			long remaining = deadline - startedAt;
+			if (remaining <= 0) {
+				future.completeExceptionally(new TimeoutException("async query timed out in queue. timeout=" + timeout));
+				return;
+			}
+
+			try {
+				future.complete(executionTime.record(() -> readOnlyTx(remaining).execute(status -> query.get())));
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	private TransactionTemplate readOnlyTx(long remainingNanos) {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		// 대기열이 차서 호출 스레드가 직접 실행할 때도 호출한 쪽 트랜잭션에 참여하지 않고 새 트랜잭션을 연다.
+		// 👉 readOnly/timeout 이 항상 적용되고, 호출한 쪽 영속성 컨텍스트가 섞이지 않는다.
+		tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		tx.setReadOnly(true);
+		tx.setTimeout((int)TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1)); // 초 단위로 올림
+		return tx;
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		threadPool.shutdown();
+		if (!threadPool.awaitTermination(5, TimeUnit.SECONDS)) {
+			log.warn("async query executor did not terminate in time");
+			threadPool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package jpabook.jpashop.service.catalog;
+
+import java.util.List;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.member.Member;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 대량 등록(BulkImportService)으로 커밋된 회원/상품 chunk
+ * 👉 건마다 MemberChangedEvent, ItemChangedEvent 를 보내지 않고 chunk 하나를 한 번에 반영한다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CatalogImportedEvent {
+
+	private final List<Member> members;
+	private final List<Item> items;
+
+	public static CatalogImportedEvent members(List<Member> members) {
+		return new CatalogImportedEvent(members, List.of());
+	}
+
+	public static CatalogImportedEvent items(List<? extends Item> items) {
+		return new CatalogImportedEvent(List.of(), List.copyOf(items));
+	}
+}
@@ -0,0 +1,91 @@
+package jpabook.jpashop.service.catalog;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.repository.catalog.query.CatalogQueryRepository;
+import jpabook.jpashop.repository.catalog.query.ItemOptionDto;
+import jpabook.jpashop.repository.catalog.query.MemberOptionDto;
+import jpabook.jpashop.service.async.AsyncQueryExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상품/회원 이름 자동완성 (키 입력마다 DB 를 조회하지 않는다.)
+ * - 기동할 때 DB 에서 (id, name) 을 읽어 NamePrefixIndex 를 만든다.
+ * - 이후에는 커밋된 변경 이벤트(ItemChangedEvent, MemberChangedEvent)로 한 건씩 반영한다.
+ * 👉 애플리케이션 인스턴스마다 따로 가지는 로컬 인덱스다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogNameIndex {
+
+	private final CatalogQueryRepository catalogQueryRepository;
+	private final AsyncQueryExecutor asyncQueryExecutor;
+
+	private final NamePrefixIndex items = NamePrefixIndex.empty();
+	private final NamePrefixIndex members = NamePrefixIndex.empty();
+
+	@EventListener(ApplicationReadyEvent.class) // InitDb 이후
+	public void build() {
+		// 상품/회원 조회는 서로 독립적이므로 동시에 실행한다.
+		CompletableFuture<List<ItemOptionDto>> itemQuery =
+			asyncQueryExecutor.submit(catalogQueryRepository::findItemOptions, AsyncQueryExecutor.BULK_LOAD_TIMEOUT);
+		CompletableFuture<List<MemberOptionDto>> memberQuery =
+			asyncQueryExecutor.submit(catalogQueryRepository::findMemberOptions, AsyncQueryExecutor.BULK_LOAD_TIMEOUT);
+
+		List<ItemOptionDto> itemOptions = itemQuery.join();
+		items.load(
+			itemOptions.stream().mapToLong(ItemOptionDto::getId).toArray(),
+			itemOptions.stream().map(ItemOptionDto::getName).toArray(String[]::new));
+
+		List<MemberOptionDto> memberOptions = memberQuery.join();
+		members.load(
+			memberOptions.stream().mapToLong(MemberOptionDto::getId).toArray(),
+			memberOptions.stream().map(MemberOptionDto::getName).toArray(String[]::new));
+
+		log.info("catalog name index built. items={} ({} bytes), members={} ({} bytes)",
+			items.size(), items.footprintBytes(), members.size(), members.footprintBytes());
+	}
+
+	public List<NameMatch> searchItems(String prefix, int k) {
+		return items.search(prefix, k);
+	}
+
+	public List<NameMatch> searchMembers(String prefix, int k) {
+		return members.search(prefix, k);
+	}
+
+	// 이름이 바뀌지 않은 이벤트(재고 변경 등)는 인덱스에서 바로 무시된다.
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onItemChanged(ItemChangedEvent event) {
+		items.put(event.getItem().getId(), event.getItem().getName());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMemberChanged(MemberChangedEvent event) {
+		members.put(event.getMember().getId(), event.getMember().getName());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCatalogImported(CatalogImportedEvent event) {
+		if (!event.getItems().isEmpty()) {
+			items.putAll(
+				event.getItems().stream().mapToLong(Item::getId).toArray(),
+				event.getItems().stream().map(Item::getName).toArray(String[]::new));
+		}
+		if (!event.getMembers().isEmpty()) {
+			members.putAll(
+				event.getMembers().stream().mapToLong(Member::getId).toArray(),
+				event.getMembers().stream().map(Member::getName).toArray(String[]::new));
+		}
+	}
+}
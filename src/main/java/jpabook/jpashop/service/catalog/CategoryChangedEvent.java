@@ -0,0 +1,14 @@
+package jpabook.jpashop.service.catalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카테고리 추가/이동 이벤트 👉 커밋 후 트리 스냅샷을 버린다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CategoryChangedEvent {
+
+	private final Long categoryId;
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.service.catalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카테고리 트리 스냅샷의 노드 (불변)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CategoryNode {
+
+	private final Long id;
+	private final String name;
+	private final Long parentId; // 최상위면 null
+	private final int depth; // 최상위 0
+}
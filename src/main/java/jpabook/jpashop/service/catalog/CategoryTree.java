@@ -0,0 +1,129 @@
+package jpabook.jpashop.service.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import jpabook.jpashop.repository.catalog.query.CategoryRowDto;
+
+/**
+ * 카테고리 트리 불변 스냅샷
+ * - (id, name, parent_id) 전체 목록으로 한 번에 만든다. 이후 조회는 DB 를 거치지 않는다.
+ * - 하위 트리: 자식 목록을 따라 내려가며 모은다. 👉 비용은 하위 트리 크기에 비례, 쿼리 0번
+ * - 조상: parentId 를 따라 올라간다. 👉 비용은 깊이에 비례(메모리 조회), 쿼리 0번
+ * - 만든 뒤에는 바뀌지 않으므로 여러 스레드가 락 없이 같이 읽는다. 변경은 새 스냅샷으로 통째로 바꾼다. (CategoryTreeService)
+ */
+public final class CategoryTree {
+
+	private final Map<Long, CategoryNode> nodes;
+	private final Map<Long, List<Long>> childIds;
+	private final List<Long> rootIds;
+
+	private CategoryTree(Map<Long, CategoryNode> nodes, Map<Long, List<Long>> childIds, List<Long> rootIds) {
+		this.nodes = nodes;
+		this.childIds = childIds;
+		this.rootIds = rootIds;
+	}
+
+	public static CategoryTree of(List<CategoryRowDto> rows) {
+		Map<Long, CategoryRowDto> rowById = new HashMap<>(rows.size() * 2);
+		for (CategoryRowDto row : rows) {
+			rowById.put(row.getId(), row);
+		}
+
+		// 자식은 id 순 (같은 입력이면 항상 같은 순서)
+		Map<Long, List<Long>> children = new HashMap<>();
+		List<Long> roots = new ArrayList<>();
+		rows.stream()
+			.sorted(Comparator.comparing(CategoryRowDto::getId))
+			.forEach(row -> {
+				if (row.getParentId() == null || !rowById.containsKey(row.getParentId())) {
+					roots.add(row.getId());
+				} else {
+					children.computeIfAbsent(row.getParentId(), key -> new ArrayList<>()).add(row.getId());
+				}
+			});
+
+		// 위에서부터 내려가며 깊이를 정한다. (부모가 없는 고리(cycle)에 걸린 노드는 트리에 넣지 않는다.)
+		Map<Long, CategoryNode> nodes = new HashMap<>(rows.size() * 2);
+		Deque<CategoryNode> stack = new ArrayDeque<>();
+		for (Long rootId : roots) {
+			CategoryRowDto row = rowById.get(rootId);
+			stack.push(new CategoryNode(row.getId(), row.getName(), null, 0));
+		}
+		while (!stack.isEmpty()) {
+			CategoryNode node = stack.pop();
+			nodes.put(node.getId(), node);
+			for (Long childId : children.getOrDefault(node.getId(), List.of())) {
+				CategoryRowDto child = rowById.get(childId);
+				stack.push(new CategoryNode(child.getId(), child.getName(), node.getId(), node.getDepth() + 1));
+			}
+		}
+
+		Map<Long, List<Long>> childIds = new HashMap<>(children.size() * 2);
+		children.forEach((parentId, ids) -> childIds.put(parentId, List.copyOf(ids)));
+		return new CategoryTree(Collections.unmodifiableMap(nodes), childIds, List.copyOf(roots));
+	}
+
+	public Optional<CategoryNode> find(Long categoryId) {
+		return Optional.ofNullable(nodes.get(categoryId));
+	}
+
+	public List<CategoryNode> roots() {
+		return rootIds.stream().map(nodes::get).toList();
+	}
+
+	/**
+	 * 최상위부터 부모까지 (자기 자신 제외, 없는 카테고리면 빈 목록)
+	 */
+	public List<CategoryNode> ancestors(Long categoryId) {
+		CategoryNode node = nodes.get(categoryId);
+		if (node == null) {
+			return List.of();
+		}
+
+		CategoryNode[] path = new CategoryNode[node.getDepth()];
+		for (int i = path.length - 1; i >= 0; i--) {
+			node = nodes.get(node.getParentId());
+			path[i] = node;
+		}
+		return List.of(path);
+	}
+
+	/**
+	 * 자기 자신을 포함한 하위 트리 (전위 순회, 없는 카테고리면 빈 목록)
+	 */
+	public List<CategoryNode> subtree(Long categoryId) {
+		if (!nodes.containsKey(categoryId)) {
+			return List.of();
+		}
+
+		List<CategoryNode> result = new ArrayList<>();
+		Deque<Long> stack = new ArrayDeque<>();
+		stack.push(categoryId);
+		while (!stack.isEmpty()) {
+			Long id = stack.pop();
+			result.add(nodes.get(id));
+
+			List<Long> children = childIds.getOrDefault(id, List.of());
+			for (int i = children.size() - 1; i >= 0; i--) { // 작은 id 가 먼저 나오도록 거꾸로 넣는다.
+				stack.push(children.get(i));
+			}
+		}
+		return result;
+	}
+
+	public List<Long> subtreeIds(Long categoryId) {
+		return subtree(categoryId).stream().map(CategoryNode::getId).toList();
+	}
+
+	public int size() {
+		return nodes.size();
+	}
+}
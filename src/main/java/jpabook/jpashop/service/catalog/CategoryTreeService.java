@@ -0,0 +1,97 @@
+package jpabook.jpashop.service.catalog;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jpabook.jpashop.domain.item.Category;
+import jpabook.jpashop.repository.CategoryRepository;
+import jpabook.jpashop.repository.catalog.query.CatalogQueryRepository;
+import jpabook.jpashop.repository.catalog.query.ItemOptionDto;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카테고리 트리 조회
+ * - Category.parent/children 을 따라가면 노드마다 쿼리가 나간다. (깊이 N 👉 쿼리 N번)
+ * - 대신 카테고리 전체를 쿼리 1번으로 읽어 불변 스냅샷(CategoryTree)을 만들고, 하위 트리/조상은 스냅샷에서 찾는다.
+ *   👉 하위 트리, 조상: 쿼리 0번 (스냅샷이 없을 때만 1번)
+ *   👉 하위 트리의 상품: 스냅샷에서 카테고리 id 를 모아서 IN 쿼리 1번
+ * - 카테고리가 바뀌면 커밋 후 스냅샷을 버리고, 다음 조회 때 다시 만든다. (카테고리는 자주 바뀌지 않는다.)
+ * 👉 애플리케이션 인스턴스마다 따로 가지는 로컬 스냅샷이다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryTreeService {
+
+	private final CatalogQueryRepository catalogQueryRepository;
+	private final CategoryRepository categoryRepository;
+	private final ApplicationEventPublisher eventPublisher;
+
+	private volatile CategoryTree snapshot;
+	private volatile long generation; // 스냅샷을 버릴 때마다 증가
+
+	public CategoryTree tree() {
+		CategoryTree tree = snapshot;
+		if (tree != null) {
+			return tree;
+		}
+
+		long loadingGeneration = generation;
+		tree = CategoryTree.of(catalogQueryRepository.findCategoryRows());
+		synchronized (this) {
+			if (generation == loadingGeneration) { // 조회 도중 카테고리가 바뀌었으면 저장하지 않는다.
+				snapshot = tree;
+			}
+		}
+		return tree;
+	}
+
+	public List<CategoryNode> subtree(Long categoryId) {
+		return tree().subtree(categoryId);
+	}
+
+	public List<CategoryNode> ancestors(Long categoryId) {
+		return tree().ancestors(categoryId);
+	}
+
+	/**
+	 * 하위 트리 전체(자기 자신 포함)에 속한 상품
+	 */
+	public List<ItemOptionDto> itemsUnder(Long categoryId, int limit) {
+		return catalogQueryRepository.findItemOptionsInCategories(tree().subtreeIds(categoryId), limit);
+	}
+
+	/**
+	 * 카테고리 추가
+	 *
+	 * @param parentId 최상위면 null
+	 */
+	@Transactional
+	public Long create(String name, Long parentId) {
+		Category category = new Category();
+		category.setName(name);
+		if (parentId != null) {
+			Category parent = categoryRepository.findOne(parentId);
+			if (parent == null) {
+				throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id=" + parentId);
+			}
+			parent.addChildCategory(category);
+		}
+		categoryRepository.save(category);
+
+		eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+		return category.getId();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		synchronized (this) {
+			generation++;
+			snapshot = null;
+		}
+	}
+}
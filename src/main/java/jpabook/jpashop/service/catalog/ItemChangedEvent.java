@@ -0,0 +1,16 @@
+package jpabook.jpashop.service.catalog;
+
+import jpabook.jpashop.domain.item.Item;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품 추가/수정/재고 변경 이벤트
+ * 커밋 후에 엔티티의 값(flush 로 올라간 version 포함)을 읽으므로 변경한 엔티티를 그대로 담는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemChangedEvent {
+
+	private final Item item;
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.service.catalog;
+
+import jpabook.jpashop.domain.member.Member;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원 가입/수정 이벤트
+ */
+@Getter
+@RequiredArgsConstructor
+public class MemberChangedEvent {
+
+	private final Member member;
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.service.catalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 이름 자동완성 결과 한 건
+ */
+@Getter
+@RequiredArgsConstructor
+public class NameMatch {
+
+	private final long id;
+	private final String name;
+}
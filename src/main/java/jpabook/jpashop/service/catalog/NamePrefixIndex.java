@@ -0,0 +1,330 @@
+package jpabook.jpashop.service.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 이름 prefix 자동완성용 메모리 인덱스 (id, name)
+ *
+ * 구조
+ * - base: (name, id) 순으로 정렬된 배열. 이름은 UTF-8 로 byte[] 하나에 이어 붙이고 offset 으로 자른다.
+ *   👉 String 객체를 만들지 않으므로 이름 하나에 (UTF-8 길이 + 24) 바이트 정도만 쓴다. (100만 건, 평균 16바이트 이름 ≒ 40MB)
+ *   👉 prefix 검색은 이진 탐색으로 시작 위치를 찾고 prefix 가 맞는 동안만 읽는다. O(log n + k)
+ * - overlay: base 를 만든 뒤에 추가/변경된 이름. 쓰기마다 base 배열을 복사하지 않도록 작은 정렬 집합에 따로 둔다.
+ *   검색할 때 base 와 overlay 를 이름 순으로 병합하고, overlay 에 있는 id 의 base 값은 건너뛴다.
+ *   overlay 가 MERGE_THRESHOLD 만큼 쌓이면 base 로 합친다.
+ *
+ * 동시성
+ * - 읽기는 불변 State 하나만 보므로 락이 없다. 쓰기는 새 State 를 만들어 교체한다. (쓰기끼리는 synchronized)
+ *
+ * 이름 비교는 UTF-8 바이트(unsigned) 순이다. (= 유니코드 code point 순, 대소문자 구분)
+ */
+public final class NamePrefixIndex {
+
+	private static final int MERGE_THRESHOLD = 4096;
+
+	private volatile State state = new State(Base.of(List.of()), Collections.emptyNavigableSet(), Map.of());
+
+	public static NamePrefixIndex empty() {
+		return new NamePrefixIndex();
+	}
+
+	/**
+	 * 전체 이름으로 base 를 다시 만든다.
+	 * 그 사이에 put 으로 들어온 변경(overlay)은 더 최신일 수 있으므로 유지한다.
+	 */
+	public synchronized void load(long[] ids, String[] names) {
+		List<Key> keys = new ArrayList<>(ids.length);
+		for (int i = 0; i < ids.length; i++) {
+			keys.add(new Key(utf8(names[i]), ids[i]));
+		}
+		keys.sort(null);
+
+		State current = state;
+		state = new State(Base.of(keys), current.added, current.changed).mergeIfNeeded();
+	}
+
+	/**
+	 * 이름 추가/변경
+	 * 이름이 그대로면(재고만 바뀐 경우 등) 아무것도 하지 않는다.
+	 */
+	public void put(long id, String name) {
+		putAll(new long[] {id}, new String[] {name});
+	}
+
+	/**
+	 * 여러 건 추가/변경 (대량 등록)
+	 * 👉 overlay 를 건마다가 아니라 호출마다 한 번만 복사한다.
+	 */
+	public synchronized void putAll(long[] ids, String[] names) {
+		State current = state;
+		TreeSet<Key> added = null;
+		Map<Long, Key> changed = null;
+
+		for (int i = 0; i < ids.length; i++) {
+			long id = ids[i];
+			byte[] bytes = utf8(names[i]);
+
+			Key previous = (changed != null ? changed : current.changed).get(id);
+			if (previous != null) {
+				if (Arrays.equals(previous.name, bytes)) {
+					continue;
+				}
+			} else {
+				int position = current.base.positionOf(id);
+				if (position >= 0 && current.base.compareName(position, bytes) == 0) {
+					continue;
+				}
+			}
+
+			if (added == null) {
+				added = new TreeSet<>(current.added);
+				changed = new HashMap<>(current.changed);
+			}
+			if (previous != null) {
+				added.remove(previous);
+			}
+			Key key = new Key(bytes, id);
+			added.add(key);
+			changed.put(id, key);
+		}
+
+		if (added != null) {
+			state = new State(current.base, added, changed).mergeIfNeeded();
+		}
+	}
+
+	/**
+	 * prefix 로 시작하는 이름을 (name, id) 순으로 최대 k 개
+	 */
+	public List<NameMatch> search(String prefix, int k) {
+		byte[] p = utf8(prefix);
+		State s = state;
+		Base base = s.base;
+
+		List<NameMatch> result = new ArrayList<>(Math.min(k, 64));
+		int position = base.lowerBound(p);
+		Iterator<Key> overlay = s.added.tailSet(new Key(p, Long.MIN_VALUE), true).iterator();
+		Key nextOverlay = nextMatching(overlay, p);
+
+		while (result.size() < k) {
+			while (position < base.size() && base.startsWith(position, p) && s.changed.containsKey(base.ids[position])) {
+				position++; // overlay 에 더 최신 값이 있다.
+			}
+			boolean baseMatches = position < base.size() && base.startsWith(position, p);
+			if (!baseMatches && nextOverlay == null) {
+				break;
+			}
+
+			if (nextOverlay == null || (baseMatches && base.compare(position, nextOverlay) < 0)) {
+				result.add(new NameMatch(base.ids[position], base.nameAt(position)));
+				position++;
+			} else {
+				result.add(new NameMatch(nextOverlay.id, new String(nextOverlay.name, StandardCharsets.UTF_8)));
+				nextOverlay = nextMatching(overlay, p);
+			}
+		}
+		return result;
+	}
+
+	public int size() {
+		State s = state;
+		int replaced = 0;
+		for (Long id : s.changed.keySet()) {
+			if (s.base.positionOf(id) >= 0) {
+				replaced++;
+			}
+		}
+		return s.base.size() - replaced + s.added.size();
+	}
+
+	/**
+	 * base 배열이 차지하는 바이트 (배열 헤더 제외, overlay 제외)
+	 */
+	public long footprintBytes() {
+		Base base = state.base;
+		return base.data.length
+			+ (long)base.offsets.length * Integer.BYTES
+			+ (long)base.ids.length * Long.BYTES
+			+ (long)base.sortedIds.length * Long.BYTES
+			+ (long)base.positionById.length * Integer.BYTES;
+	}
+
+	private static Key nextMatching(Iterator<Key> overlay, byte[] prefix) {
+		if (!overlay.hasNext()) {
+			return null;
+		}
+		Key key = overlay.next();
+		return startsWith(key.name, prefix) ? key : null;
+	}
+
+	private static byte[] utf8(String value) {
+		return (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static boolean startsWith(byte[] name, byte[] prefix) {
+		return name.length >= prefix.length && Arrays.equals(name, 0, prefix.length, prefix, 0, prefix.length);
+	}
+
+	private static final class State {
+
+		private final Base base;
+		private final NavigableSet<Key> added; // (name, id) 순
+		private final Map<Long, Key> changed; // overlay 에 있는 id -> 현재 값
+
+		private State(Base base, NavigableSet<Key> added, Map<Long, Key> changed) {
+			this.base = base;
+			this.added = added;
+			this.changed = changed;
+		}
+
+		private State mergeIfNeeded() {
+			if (changed.size() < MERGE_THRESHOLD) {
+				return this;
+			}
+
+			List<Key> merged = new ArrayList<>(base.size() + added.size());
+			Iterator<Key> overlay = added.iterator();
+			Key nextOverlay = overlay.hasNext() ? overlay.next() : null;
+			for (int position = 0; position < base.size(); position++) {
+				if (changed.containsKey(base.ids[position])) {
+					continue;
+				}
+				while (nextOverlay != null && base.compare(position, nextOverlay) > 0) {
+					merged.add(nextOverlay);
+					nextOverlay = overlay.hasNext() ? overlay.next() : null;
+				}
+				merged.add(base.keyAt(position));
+			}
+			while (nextOverlay != null) {
+				merged.add(nextOverlay);
+				nextOverlay = overlay.hasNext() ? overlay.next() : null;
+			}
+			return new State(Base.of(merged), Collections.emptyNavigableSet(), Map.of());
+		}
+	}
+
+	/**
+	 * 정렬된 불변 배열
+	 */
+	private static final class Base {
+
+		private final byte[] data; // UTF-8 이름을 (name, id) 순으로 이어 붙인 것
+		private final int[] offsets; // i 번째 이름 = data[offsets[i], offsets[i + 1])
+		private final long[] ids; // (name, id) 순
+		private final long[] sortedIds; // id 순
+		private final int[] positionById; // sortedIds[i] 의 위치
+
+		private Base(byte[] data, int[] offsets, long[] ids, long[] sortedIds, int[] positionById) {
+			this.data = data;
+			this.offsets = offsets;
+			this.ids = ids;
+			this.sortedIds = sortedIds;
+			this.positionById = positionById;
+		}
+
+		private static Base of(List<Key> sortedKeys) {
+			int n = sortedKeys.size();
+			int[] offsets = new int[n + 1];
+			long[] ids = new long[n];
+			for (int i = 0; i < n; i++) {
+				offsets[i + 1] = offsets[i] + sortedKeys.get(i).name.length;
+				ids[i] = sortedKeys.get(i).id;
+			}
+
+			byte[] data = new byte[offsets[n]];
+			for (int i = 0; i < n; i++) {
+				byte[] name = sortedKeys.get(i).name;
+				System.arraycopy(name, 0, data, offsets[i], name.length);
+			}
+
+			int[] byId = new int[n];
+			List<Integer> order = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				order.add(i);
+			}
+			order.sort((a, b) -> Long.compare(ids[a], ids[b]));
+			long[] sortedIds = new long[n];
+			for (int i = 0; i < n; i++) {
+				byId[i] = order.get(i);
+				sortedIds[i] = ids[byId[i]];
+			}
+
+			return new Base(data, offsets, ids, sortedIds, byId);
+		}
+
+		private int size() {
+			return ids.length;
+		}
+
+		private int positionOf(long id) {
+			int i = Arrays.binarySearch(sortedIds, id);
+			return i >= 0 ? positionById[i] : -1;
+		}
+
+		private String nameAt(int position) {
+			return new String(data, offsets[position], offsets[position + 1] - offsets[position], StandardCharsets.UTF_8);
+		}
+
+		private Key keyAt(int position) {
+			return new Key(Arrays.copyOfRange(data, offsets[position], offsets[position + 1]), ids[position]);
+		}
+
+		private int compareName(int position, byte[] name) {
+			return Arrays.compareUnsigned(data, offsets[position], offsets[position + 1], name, 0, name.length);
+		}
+
+		private int compare(int position, Key key) {
+			int c = compareName(position, key.name);
+			return c != 0 ? c : Long.compare(ids[position], key.id);
+		}
+
+		private boolean startsWith(int position, byte[] prefix) {
+			int length = offsets[position + 1] - offsets[position];
+			return length >= prefix.length
+				&& Arrays.equals(data, offsets[position], offsets[position] + prefix.length, prefix, 0, prefix.length);
+		}
+
+		/**
+		 * 이름이 prefix 이상인 첫 위치
+		 */
+		private int lowerBound(byte[] prefix) {
+			int low = 0;
+			int high = size();
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (compareName(mid, prefix) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+
+	private static final class Key implements Comparable<Key> {
+
+		private final byte[] name;
+		private final long id;
+
+		private Key(byte[] name, long id) {
+			this.name = name;
+			this.id = id;
+		}
+
+		@Override
+		public int compareTo(Key other) {
+			int c = Arrays.compareUnsigned(name, other.name);
+			return c != 0 ? c : Long.compare(id, other.id);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package jpabook.jpashop.service.catalog;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jpabook.jpashop.repository.catalog.query.CatalogQueryRepository;
+import jpabook.jpashop.repository.catalog.query.ItemOptionDto;
+import jpabook.jpashop.repository.catalog.query.MemberOptionDto;
+import jpabook.jpashop.service.async.AsyncQueryExecutor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 화면(OrderController.createForm)의 회원/상품 선택 목록 near-cache
+ * - 기동할 때 DTO 조회로 한 번만 채우고, 이후에는 변경 이벤트로 한 건씩 고친다. (전체 다시 조회 X)
+ *   👉 주문 화면을 열 때 DB 를 조회하지 않는다.
+ * - 이벤트는 커밋 후에 반영한다. (롤백된 변경이 목록에 보이지 않도록)
+ * - 상품은 version 을 비교해서, 이벤트가 늦게 도착해도 옛 값으로 덮어쓰지 않는다.
+ * 👉 애플리케이션 인스턴스마다 따로 가지는 로컬 캐시다. 다른 인스턴스의 변경은 반영되지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderFormCatalog {
+
+	private final CatalogQueryRepository catalogQueryRepository;
+	private final AsyncQueryExecutor asyncQueryExecutor;
+
+	private final ConcurrentSkipListMap<Long, MemberOptionDto> members = new ConcurrentSkipListMap<>();
+	private final ConcurrentSkipListMap<Long, ItemOptionDto> items = new ConcurrentSkipListMap<>();
+
+	private volatile boolean loaded;
+
+	/**
+	 * id 순 회원 목록 (복사하지 않은 읽기 전용 뷰)
+	 */
+	public Collection<MemberOptionDto> members() {
+		loadIfNeeded();
+		return Collections.unmodifiableCollection(members.values());
+	}
+
+	/**
+	 * id 순 상품 목록 (복사하지 않은 읽기 전용 뷰)
+	 */
+	public Collection<ItemOptionDto> items() {
+		loadIfNeeded();
+		return Collections.unmodifiableCollection(items.values());
+	}
+
+	@EventListener(ApplicationReadyEvent.class) // InitDb 이후
+	public void load() {
+		loadIfNeeded();
+	}
+
+	// 트랜잭션 밖에서 발행된 이벤트(StockReservationLedger 등)도 받는다.
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onItemChanged(ItemChangedEvent event) {
+		ItemOptionDto option = ItemOptionDto.from(event.getItem());
+		items.merge(option.getId(), option, ItemOptionDto::newer);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMemberChanged(MemberChangedEvent event) {
+		MemberOptionDto option = MemberOptionDto.from(event.getMember());
+		members.put(option.getId(), option);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCatalogImported(CatalogImportedEvent event) {
+		event.getMembers().forEach(member -> members.put(member.getId(), MemberOptionDto.from(member)));
+		event.getItems().forEach(item -> items.merge(item.getId(), ItemOptionDto.from(item), ItemOptionDto::newer));
+	}
+
+	/**
+	 * 처음 한 번만 전체 조회한다.
+	 * 조회 도중에 들어온 이벤트가 더 최신일 수 있으므로, 조회 결과는 이벤트로 들어온 값을 덮어쓰지 않는다.
+	 */
+	private void loadIfNeeded() {
+		if (loaded) {
+			return;
+		}
+
+		synchronized (this) {
+			if (loaded) {
+				return;
+			}
+			// 회원/상품 조회는 서로 독립적이므로 동시에 실행한다. 👉 두 조회 시간의 합이 아니라 긴 쪽만큼 걸린다.
+			CompletableFuture<List<MemberOptionDto>> memberOptions =
+				asyncQueryExecutor.submit(catalogQueryRepository::findMemberOptions, AsyncQueryExecutor.BULK_LOAD_TIMEOUT);
+			CompletableFuture<List<ItemOptionDto>> itemOptions =
+				asyncQueryExecutor.submit(catalogQueryRepository::findItemOptions, AsyncQueryExecutor.BULK_LOAD_TIMEOUT);
+
+			memberOptions.join()
+				.forEach(option -> members.putIfAbsent(option.getId(), option));
+			itemOptions.join()
+				.forEach(option -> items.merge(option.getId(), option, ItemOptionDto::newer));
+			loaded = true;
+		}
+	}
+}
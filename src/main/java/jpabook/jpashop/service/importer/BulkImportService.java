@@ -0,0 +1,249 @@
+package jpabook.jpashop.service.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.service.catalog.CatalogImportedEvent;
+import jpabook.jpashop.service.member.MemberNameFilter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 회원/상품(Book) 대량 등록
+ * - 파일을 한 줄씩 읽고 chunk-size 건씩 StatelessSession 으로 INSERT 한다. chunk 마다 커밋한다.
+ *   👉 영속성 컨텍스트(1차 캐시, 변경 감지, 2차 캐시)를 거치지 않고, INSERT 는 chunk 하나가 JDBC 배치로 나간다.
+ *   👉 메모리에는 chunk 하나만 있으므로 파일 크기와 상관없이 일정하다.
+ * - ID 는 엔티티와 같은 PooledSequenceGenerator 로 만든다. (pooled-lo, 시퀀스 조회는 block-size 건마다 한 번)
+ * - 형식/값이 잘못된 줄은 DB 에 보내지 않고 실패로 기록한다.
+ * - chunk 가 DB 에서 실패하면(회원명 중복 등) 그 chunk 만 한 건씩 다시 INSERT 해서 실패한 줄만 골라낸다.
+ * - 커밋된 chunk 는 CatalogImportedEvent 로 주문 화면 목록, 자동완성 인덱스에 반영하고, 쿼리 캐시를 비운다.
+ *   (StatelessSession 은 2차 캐시/쿼리 캐시를 갱신하지 않는다.)
+ * 👉 트랜잭션 밖에서 호출한다. (chunk 마다 자기 트랜잭션으로 커밋한다.)
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+	private static final String DUPLICATE_MEMBER = "이미 존재하는 회원입니다.";
+
+	private final SessionFactory sessionFactory;
+	private final ObjectMapper objectMapper;
+	private final MemberNameFilter memberNameFilter;
+	private final ApplicationEventPublisher eventPublisher;
+	private final int chunkSize;
+	private final int maxErrors;
+
+	private final Counter importedRows;
+	private final Counter failedRows;
+
+	public BulkImportService(
+		EntityManagerFactory entityManagerFactory,
+		ObjectMapper objectMapper,
+		MemberNameFilter memberNameFilter,
+		ApplicationEventPublisher eventPublisher,
+		MeterRegistry meterRegistry,
+		@Value("${jpashop.import.chunk-size:1000}") int chunkSize,
+		@Value("${jpashop.import.max-errors:100}") int maxErrors
+	) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		this.objectMapper = objectMapper;
+		this.memberNameFilter = memberNameFilter;
+		this.eventPublisher = eventPublisher;
+		this.chunkSize = chunkSize;
+		this.maxErrors = maxErrors;
+
+		this.importedRows = meterRegistry.counter("jpashop.import.rows", "result", "imported");
+		this.failedRows = meterRegistry.counter("jpashop.import.rows", "result", "failed");
+	}
+
+	/**
+	 * 컬럼: name(필수), city, street, zipcode
+	 */
+	public ImportReport importMembers(Reader reader, ImportFormat format) {
+		return importRows(reader, format, BulkImportService::toMember, members -> {
+			members.forEach(member -> memberNameFilter.put(member.getName()));
+			eventPublisher.publishEvent(CatalogImportedEvent.members(members));
+		});
+	}
+
+	/**
+	 * 컬럼: name(필수), price, stockQuantity, author, isbn
+	 */
+	public ImportReport importBooks(Reader reader, ImportFormat format) {
+		return importRows(reader, format, BulkImportService::toBook,
+			books -> eventPublisher.publishEvent(CatalogImportedEvent.items(books)));
+	}
+
+	private <T> ImportReport importRows(Reader reader, ImportFormat format, Function<ImportRow, T> mapper,
+		Consumer<List<T>> afterCommit) {
+		long start = System.nanoTime();
+		ImportReport report = new ImportReport(maxErrors);
+		ImportRowReader rows = new ImportRowReader(reader, format, objectMapper);
+		Chunk<T> chunk = new Chunk<>(chunkSize);
+
+		try (StatelessSession session = sessionFactory.openStatelessSession()) {
+			session.setJdbcBatchSize(chunkSize);
+
+			for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+				report.row();
+				if (!row.isValid()) {
+					report.fail(row.getLine(), row.getError());
+					continue;
+				}
+
+				try {
+					chunk.add(row.getLine(), mapper.apply(row));
+				} catch (IllegalArgumentException e) {
+					report.fail(row.getLine(), e.getMessage());
+					continue;
+				}
+
+				if (chunk.size() == chunkSize) {
+					write(session, chunk, report, afterCommit);
+				}
+			}
+
+			if (chunk.size() > 0) {
+				write(session, chunk, report, afterCommit);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // 업로드가 끊긴 경우 등. 이미 커밋된 chunk 는 남는다.
+		} finally {
+			report.finish((System.nanoTime() - start) / 1_000_000);
+			importedRows.increment(report.getImported());
+			failedRows.increment(report.getFailed());
+		}
+
+		log.info("bulk import finished. rows={}, imported={}, failed={}, chunks={}, {} rows/s",
+			report.getRows(), report.getImported(), report.getFailed(), report.getChunks(), report.getRowsPerSecond());
+		return report;
+	}
+
+	private <T> void write(StatelessSession session, Chunk<T> chunk, ImportReport report, Consumer<List<T>> afterCommit) {
+		List<T> committed;
+		if (insert(session, chunk.entities) == null) {
+			committed = List.copyOf(chunk.entities);
+		} else {
+			// chunk 안의 어느 줄이 실패했는지 모르므로 한 건씩 다시 넣는다. (ID 는 새로 할당된다.)
+			committed = new ArrayList<>(chunk.size());
+			for (int i = 0; i < chunk.size(); i++) {
+				T entity = chunk.entities.get(i);
+				String error = insert(session, List.of(entity));
+				if (error == null) {
+					committed.add(entity);
+				} else {
+					report.fail(chunk.lines.get(i), error);
+				}
+			}
+		}
+
+		report.imported(committed.size());
+		report.chunk();
+		chunk.clear();
+
+		if (!committed.isEmpty()) {
+			sessionFactory.getCache().evictQueryRegions(); // 회원/상품 목록 쿼리 캐시
+			afterCommit.accept(committed);
+		}
+	}
+
+	/**
+	 * @return 실패 사유, 커밋되면 null
+	 */
+	private String insert(StatelessSession session, List<?> entities) {
+		Transaction tx = session.beginTransaction();
+		try {
+			for (Object entity : entities) {
+				session.insert(entity);
+			}
+			tx.commit(); // 커밋 직전에 남은 JDBC 배치가 실행된다.
+			return null;
+		} catch (RuntimeException e) {
+			if (tx.getStatus().canRollback()) {
+				tx.rollback();
+			}
+			return errorMessage(e);
+		}
+	}
+
+	private static String errorMessage(RuntimeException e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+				&& violation.getConstraintName().toLowerCase().contains(Member.UK_NAME)) {
+				return DUPLICATE_MEMBER;
+			}
+		}
+		return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+	}
+
+	private static Member toMember(ImportRow row) {
+		Member member = new Member(row.requiredText("name"));
+		String city = row.text("city");
+		String street = row.text("street");
+		String zipcode = row.text("zipcode");
+		if (city != null || street != null || zipcode != null) {
+			member.setAddress(new Address(city, street, zipcode));
+		}
+		return member;
+	}
+
+	private static Book toBook(ImportRow row) {
+		Book book = new Book();
+		book.setName(row.requiredText("name"));
+		book.setPrice(row.nonNegativeInt("price"));
+		book.setStockQuantity(row.nonNegativeInt("stockQuantity"));
+		book.setAuthor(row.text("author"));
+		book.setIsbn(row.text("isbn"));
+		return book;
+	}
+
+	/**
+	 * INSERT 대기 중인 엔티티와 원래 줄 번호
+	 */
+	private static final class Chunk<T> {
+
+		private final List<Long> lines;
+		private final List<T> entities;
+
+		private Chunk(int capacity) {
+			this.lines = new ArrayList<>(capacity);
+			this.entities = new ArrayList<>(capacity);
+		}
+
+		private void add(long line, T entity) {
+			lines.add(line);
+			entities.add(entity);
+		}
+
+		private int size() {
+			return entities.size();
+		}
+
+		private void clear() {
+			lines.clear();
+			entities.clear();
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package jpabook.jpashop.service.importer;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 대량 등록 파일 형식
+ * - CSV    : 첫 줄은 헤더(컬럼 이름), 이후 한 줄에 한 건. 값에 쉼표/따옴표가 있으면 "..." 로 감싸고 따옴표는 "" 로 쓴다.
+ * - NDJSON : 한 줄에 JSON 객체 하나
+ * 👉 둘 다 한 줄씩 읽어서 처리하므로 파일 크기와 상관없이 메모리를 일정하게 쓴다. (값 안의 줄바꿈은 지원하지 않는다.)
+ */
+public enum ImportFormat {
+
+	CSV,
+	NDJSON;
+
+	public static final String CSV_VALUE = "text/csv";
+	public static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+
+	public static ImportFormat from(MediaType contentType) {
+		if (MediaType.valueOf(CSV_VALUE).includes(contentType)) {
+			return CSV;
+		}
+		if (MediaType.APPLICATION_NDJSON.includes(contentType)) {
+			return NDJSON;
+		}
+		throw new IllegalArgumentException("지원하지 않는 형식입니다. " + contentType);
+	}
+}
@@ -0,0 +1,68 @@
+package jpabook.jpashop.service.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대량 등록 결과
+ * - 성공한 chunk 는 이미 커밋되어 있다. 실패한 줄만 다시 올리면 된다.
+ * - 실패 사유는 앞에서부터 max-errors 개까지만 담는다. (실패가 많아도 메모리가 늘지 않는다.) 나머지는 failed 개수에만 포함된다.
+ */
+@Getter
+public class ImportReport {
+
+	private long rows;
+	private long imported;
+	private long failed;
+	private int chunks;
+	private long elapsedMillis;
+	private final List<ImportError> errors = new ArrayList<>();
+	private boolean errorsTruncated;
+
+	@Getter(AccessLevel.NONE)
+	private final int maxErrors;
+
+	ImportReport(int maxErrors) {
+		this.maxErrors = maxErrors;
+	}
+
+	public long getRowsPerSecond() {
+		return elapsedMillis == 0 ? imported : imported * 1000 / elapsedMillis;
+	}
+
+	void row() {
+		rows++;
+	}
+
+	void imported(int count) {
+		imported += count;
+	}
+
+	void chunk() {
+		chunks++;
+	}
+
+	void fail(long line, String message) {
+		failed++;
+		if (errors.size() < maxErrors) {
+			errors.add(new ImportError(line, message));
+		} else {
+			errorsTruncated = true;
+		}
+	}
+
+	void finish(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class ImportError {
+		private long line;
+		private String message;
+	}
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.service.importer;
+
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 파일의 한 줄 (컬럼 이름 -> 값)
+ * 형식이 잘못된 줄은 values 대신 error 를 가진다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ImportRow {
+
+	private final long line;
+	private final Map<String, String> values;
+	private final String error;
+
+	static ImportRow of(long line, Map<String, String> values) {
+		return new ImportRow(line, values, null);
+	}
+
+	static ImportRow invalid(long line, String error) {
+		return new ImportRow(line, Map.of(), error);
+	}
+
+	public boolean isValid() {
+		return error == null;
+	}
+
+	/**
+	 * @return 앞뒤 공백을 뺀 값, 없거나 비어있으면 null
+	 */
+	public String text(String column) {
+		String value = values.get(column);
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		return value.strip();
+	}
+
+	public String requiredText(String column) {
+		String value = text(column);
+		if (value == null) {
+			throw new IllegalArgumentException(column + " 이(가) 비어 있습니다.");
+		}
+		return value;
+	}
+
+	/**
+	 * @return 0 이상의 정수, 비어있으면 0
+	 */
+	public int nonNegativeInt(String column) {
+		String value = text(column);
+		if (value == null) {
+			return 0;
+		}
+
+		int number;
+		try {
+			number = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(column + " 은(는) 정수여야 합니다. (" + value + ")");
+		}
+		if (number < 0) {
+			throw new IllegalArgumentException(column + " 은(는) 0 이상이어야 합니다. (" + value + ")");
+		}
+		return number;
+	}
+}
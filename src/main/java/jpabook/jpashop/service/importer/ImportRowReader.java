@@ -0,0 +1,139 @@
+package jpabook.jpashop.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * CSV/NDJSON 을 한 줄씩 읽어 ImportRow 로 만든다.
+ * - 빈 줄은 건너뛴다. 줄 번호는 파일 기준(1부터, 헤더 포함)이다.
+ * - 형식이 잘못된 줄은 예외 대신 ImportRow.invalid 로 돌려준다. 👉 다음 줄부터 계속 읽는다.
+ */
+class ImportRowReader {
+
+	private final BufferedReader reader;
+	private final ImportFormat format;
+	private final ObjectMapper objectMapper;
+
+	private List<String> header; // CSV
+	private long lineNumber;
+
+	ImportRowReader(Reader reader, ImportFormat format, ObjectMapper objectMapper) {
+		this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+		this.format = format;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * @return 다음 줄, 파일 끝이면 null
+	 */
+	ImportRow next() throws IOException {
+		while (true) {
+			String line = reader.readLine();
+			if (line == null) {
+				return null;
+			}
+			lineNumber++;
+			if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+				line = line.substring(1); // UTF-8 BOM (엑셀에서 저장한 CSV)
+			}
+			if (line.isBlank()) {
+				continue;
+			}
+
+			if (format == ImportFormat.NDJSON) {
+				return parseJson(line);
+			}
+			if (header == null) {
+				header = splitCsv(line).stream().map(String::strip).toList(); // 헤더가 잘못되면 파일 전체가 실패한다.
+				continue;
+			}
+			return parseCsv(line);
+		}
+	}
+
+	private ImportRow parseCsv(String line) {
+		List<String> fields;
+		try {
+			fields = splitCsv(line);
+		} catch (IllegalArgumentException e) {
+			return ImportRow.invalid(lineNumber, e.getMessage());
+		}
+		if (fields.size() != header.size()) {
+			return ImportRow.invalid(lineNumber,
+				"컬럼 수가 헤더와 다릅니다. (헤더 " + header.size() + "개, " + fields.size() + "개)");
+		}
+
+		Map<String, String> values = new HashMap<>(header.size() * 2);
+		for (int i = 0; i < fields.size(); i++) {
+			values.put(header.get(i), fields.get(i));
+		}
+		return ImportRow.of(lineNumber, values);
+	}
+
+	private ImportRow parseJson(String line) {
+		JsonNode node;
+		try {
+			node = objectMapper.readTree(line);
+		} catch (JsonProcessingException e) {
+			return ImportRow.invalid(lineNumber, "JSON 형식이 아닙니다. " + e.getOriginalMessage());
+		}
+		if (!node.isObject()) {
+			return ImportRow.invalid(lineNumber, "JSON 객체가 아닙니다.");
+		}
+
+		Map<String, String> values = new HashMap<>(node.size() * 2);
+		for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			JsonNode value = field.getValue();
+			if (!value.isValueNode()) {
+				return ImportRow.invalid(lineNumber, field.getKey() + " 은(는) 배열/객체일 수 없습니다.");
+			}
+			values.put(field.getKey(), value.isNull() ? null : value.asText());
+		}
+		return ImportRow.of(lineNumber, values);
+	}
+
+	// RFC 4180 (한 줄 안에서만): "..." 안의 쉼표는 값, "" 는 따옴표 하나
+	static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+
+		if (quoted) {
+			throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+}
@@ -0,0 +1,245 @@
+package jpabook.jpashop.service.intake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.monitoring.QueryCountContext;
+import jpabook.jpashop.service.BulkOrderDto;
+import jpabook.jpashop.service.BulkOrderResult;
+import jpabook.jpashop.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 피크 트래픽용 주문 접수 (group commit)
+ * - 주문 요청을 대기열에 넣고 바로 future 를 돌려준다.
+ * - 워커 스레드 하나가 최대 max-batch 건 또는 max-wait-ms 동안 모은 주문을 트랜잭션 하나로 처리한다. (OrderService.orderBulk)
+ *   👉 주문마다 하던 커밋(로그 fsync)을 배치당 한 번으로 줄이고, INSERT/재고 UPDATE 는 JDBC 배치로 묶인다.
+ *   👉 orderBulk 가 배치 전체의 수량을 상품별로 합치므로 재고 조건부 UPDATE 는 상품당 한 번만 나간다. (배치 하나에 JDBC 배치 하나)
+ * - 메트릭: jpashop.order.intake.batch(배치 크기), jpashop.order.intake.statements(배치 하나가 실행한 SQL 수)
+ * - 주문마다 자기 결과로 future 를 완료한다. (성공: 주문 id, 실패: NotEnoughStockException 등 각자의 예외)
+ * - 배치 전체가 실패하면(DB 오류 등) 그 배치만 한 건씩 OrderService.order 로 다시 처리한다.
+ * - 대기열이 차면 바로 RejectedExecutionException 으로 실패시킨다. (요청 스레드를 붙잡아 두지 않는다.)
+ * 👉 요청 하나의 지연은 최대 max-wait-ms 만큼 늘어나는 대신, 초당 처리량이 늘어난다.
+ */
+@Slf4j
+@Component
+public class OrderIntake {
+
+	private final OrderService orderService;
+	private final boolean enabled;
+	private final int maxBatch;
+	private final long maxWaitNanos;
+	private final BlockingQueue<Command> queue;
+
+	private final DistributionSummary batchSize;
+	private final DistributionSummary batchStatements;
+	private final Timer queueTime;
+	private final Counter rejected;
+	private final Counter fallback;
+
+	private volatile boolean running;
+	private Thread worker;
+
+	public OrderIntake(
+		OrderService orderService,
+		MeterRegistry meterRegistry,
+		@Value("${jpashop.order.intake.enabled:false}") boolean enabled,
+		@Value("${jpashop.order.intake.capacity:10000}") int capacity,
+		@Value("${jpashop.order.intake.max-batch:200}") int maxBatch,
+		@Value("${jpashop.order.intake.max-wait-ms:5}") long maxWaitMillis
+	) {
+		this.orderService = orderService;
+		this.enabled = enabled;
+		this.maxBatch = maxBatch;
+		this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+		this.queue = new ArrayBlockingQueue<>(capacity);
+
+		this.batchSize = meterRegistry.summary("jpashop.order.intake.batch");
+		this.batchStatements = meterRegistry.summary("jpashop.order.intake.statements");
+		this.queueTime = meterRegistry.timer("jpashop.order.intake.queue");
+		this.rejected = meterRegistry.counter("jpashop.order.intake.rejected");
+		this.fallback = meterRegistry.counter("jpashop.order.intake.fallback");
+		meterRegistry.gauge("jpashop.order.intake.pending", queue, BlockingQueue::size);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 주문 접수
+	 *
+	 * @return 주문 id (처리가 끝나면 완료된다.)
+	 */
+	public CompletableFuture<Long> submit(Long memberId, Long itemId, int count) {
+		if (!enabled) {
+			throw new IllegalStateException("주문 접수 대기열이 꺼져 있습니다. (jpashop.order.intake.enabled)");
+		}
+
+		Command command = new Command(new BulkOrderDto(memberId, List.of(new BulkOrderDto.Line(itemId, count))));
+		if (!running || !queue.offer(command)) {
+			rejected.increment();
+			command.future.completeExceptionally(new RejectedExecutionException("주문 접수 대기열이 가득 찼습니다."));
+			return command.future;
+		}
+
+		// running 확인과 offer 사이에 워커가 끝났을 수 있다. 👉 워커가 가져가지 않았으면(remove 성공) 여기서 실패시킨다.
+		// (워커는 running=false 를 본 뒤에 대기열을 비우므로, remove 가 실패했다면 워커가 이 주문을 완료한다.)
+		if (!running && queue.remove(command)) {
+			rejected.increment();
+			command.future.completeExceptionally(stopped());
+		}
+		return command.future;
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		running = true;
+		worker = new Thread(this::drainLoop, "order-intake");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (worker == null) {
+			return;
+		}
+		running = false;
+		worker.join(TimeUnit.SECONDS.toMillis(5)); // 대기열에 남은 주문까지 처리하고 끝난다.
+		if (worker.isAlive()) {
+			worker.interrupt(); // 5초 안에 못 끝내면 진행 중인 배치와 남은 주문을 실패시키고 끝낸다.
+			worker.join(TimeUnit.SECONDS.toMillis(1));
+		}
+		failRemaining();
+	}
+
+	private void drainLoop() {
+		List<Command> batch = new ArrayList<>(maxBatch);
+		while (running || !queue.isEmpty()) {
+			try {
+				Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				fill(batch);
+				apply(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+				batch.forEach(command -> command.future.completeExceptionally(stopped()));
+				break;
+			} catch (RuntimeException e) {
+				log.error("order intake batch failed unexpectedly. size={}", batch.size(), e);
+				batch.forEach(command -> command.future.completeExceptionally(e));
+			} finally {
+				batch.clear();
+			}
+		}
+		failRemaining();
+	}
+
+	/**
+	 * 워커가 끝난 뒤 대기열에 남은 주문 👉 완료되지 않은 future 로 요청이 타임아웃까지 매달려 있지 않게 한다.
+	 */
+	private void failRemaining() {
+		List<Command> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		remaining.forEach(command -> command.future.completeExceptionally(stopped()));
+	}
+
+	private static RejectedExecutionException stopped() {
+		return new RejectedExecutionException("주문 접수가 중단되었습니다.");
+	}
+
+	/**
+	 * 첫 주문을 받은 뒤 max-wait 동안 max-batch 건까지 더 모은다.
+	 */
+	private void fill(List<Command> batch) throws InterruptedException {
+		long deadline = System.nanoTime() + maxWaitNanos;
+		while (batch.size() < maxBatch) {
+			queue.drainTo(batch, maxBatch - batch.size()); // 이미 쌓여 있는 주문은 기다리지 않고 가져온다.
+			long remaining = deadline - System.nanoTime();
+			if (batch.size() >= maxBatch || remaining <= 0) {
+				return;
+			}
+
+			Command next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	private void apply(List<Command> batch) {
+		long now = System.nanoTime();
+		batch.forEach(command -> queueTime.record(now - command.enqueuedAt, TimeUnit.NANOSECONDS));
+		batchSize.record(batch.size());
+
+		List<BulkOrderResult> results = null;
+		QueryCountContext context = QueryCountContext.start(); // 워커 스레드에는 요청 필터가 없으므로 배치마다 직접 연다.
+		try {
+			results = orderService.orderBulk(batch.stream().map(command -> command.order).toList());
+		} catch (RuntimeException e) {
+			log.warn("order intake batch rolled back, retrying one by one. size={}", batch.size(), e);
+		} finally {
+			QueryCountContext.clear();
+			batchStatements.record(context.getCount()); // future 를 완료하기 전에 기록한다.
+		}
+
+		if (results == null) {
+			fallback.increment();
+			batch.forEach(this::applyOne);
+			return;
+		}
+
+		for (int i = 0; i < batch.size(); i++) {
+			BulkOrderResult result = results.get(i);
+			if (result.isSuccess()) {
+				batch.get(i).future.complete(result.getOrderId());
+			} else {
+				batch.get(i).future.completeExceptionally(result.getException());
+			}
+		}
+	}
+
+	private void applyOne(Command command) {
+		BulkOrderDto.Line line = command.order.getLines().get(0);
+		try {
+			command.future.complete(orderService.order(command.order.getMemberId(), line.getItemId(), line.getCount()));
+		} catch (RuntimeException e) {
+			command.future.completeExceptionally(e);
+		}
+	}
+
+	private static class Command {
+
+		private final BulkOrderDto order;
+		private final CompletableFuture<Long> future = new CompletableFuture<>();
+		private final long enqueuedAt = System.nanoTime();
+
+		private Command(BulkOrderDto order) {
+			this.order = order;
+		}
+	}
+}
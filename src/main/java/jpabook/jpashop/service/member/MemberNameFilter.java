@@ -0,0 +1,96 @@
+package jpabook.jpashop.service.member;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 회원 가입 중복 검사 앞단의 Bloom filter
+ * - 기동할 때 모든 회원명을 읽어 NameBloomFilter 에 넣는다. 이후에는 가입/이름 변경 때 한 건씩 넣는다.
+ * - mightContain 이 false 면 "확실히 없는 이름" 👉 MemberService 가 findByName 조회를 건너뛴다.
+ *   true 면(이미 있거나 false positive) 기존처럼 조회해서 확인한다.
+ * - 최종 보장은 member.name 유니크 인덱스(uk_member_name)다. 이 필터는 조회를 줄이기만 한다.
+ *   👉 다른 인스턴스에서 가입한 이름은 이 필터에 없으므로 조회를 건너뛰고, INSERT 에서 유니크 위반으로 걸러진다.
+ * - 로딩이 끝나기 전, 또는 jpashop.member.name-filter.enabled=false 면 항상 true (= 항상 조회)
+ */
+@Slf4j
+@Component
+public class MemberNameFilter {
+
+	private final MemberRepository memberRepository;
+	private final boolean enabled;
+	private final NameBloomFilter filter;
+
+	private final Counter skipped;
+	private final Counter checked;
+
+	private volatile boolean loaded;
+
+	public MemberNameFilter(
+		MemberRepository memberRepository,
+		MeterRegistry meterRegistry,
+		@Value("${jpashop.member.name-filter.enabled:true}") boolean enabled,
+		@Value("${jpashop.member.name-filter.expected-insertions:1000000}") long expectedInsertions,
+		@Value("${jpashop.member.name-filter.fpp:0.01}") double fpp
+	) {
+		this.memberRepository = memberRepository;
+		this.enabled = enabled;
+		this.filter = NameBloomFilter.create(expectedInsertions, fpp);
+
+		this.skipped = meterRegistry.counter("jpashop.member.name-filter", "result", "skipped");
+		this.checked = meterRegistry.counter("jpashop.member.name-filter", "result", "checked");
+	}
+
+	/**
+	 * 로딩 중에 put 으로 들어온 이름도 같은 필터에 들어가므로 빠지는 이름이 없다.
+	 */
+	@EventListener(ApplicationReadyEvent.class) // InitDb 이후
+	@Transactional(readOnly = true)
+	public void load() {
+		if (!enabled) {
+			return;
+		}
+
+		long count = 0;
+		try (Stream<String> names = memberRepository.streamAllNames(10_000)) { // 이름을 List 로 한 번에 올리지 않는다.
+			for (Iterator<String> iterator = names.iterator(); iterator.hasNext(); count++) {
+				filter.put(iterator.next());
+			}
+		}
+		loaded = true;
+
+		log.info("member name filter loaded. names={}, bits={} ({} bytes), hashes={}",
+			count, filter.bitSize(), filter.bitSize() / 8, filter.hashCount());
+	}
+
+	/**
+	 * @return false 면 DB 에 없는 이름이다. (이 인스턴스 기준)
+	 */
+	public boolean mightContain(String name) {
+		if (!loaded || name == null || filter.mightContain(name)) {
+			checked.increment();
+			return true;
+		}
+		skipped.increment();
+		return false;
+	}
+
+	/**
+	 * 트랜잭션 안에서 바로 넣는다. 롤백되더라도 false positive 가 하나 늘 뿐이다.
+	 */
+	public void put(String name) {
+		if (enabled && name != null) {
+			filter.put(name);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package jpabook.jpashop.service.member;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 이름 Bloom filter
+ * - mightContain 이 false 면 put 한 적이 없는 이름이다. (false negative 없음)
+ * - true 면 put 한 적이 있거나, fpp 확률로 잘못 true 가 나온 것이다. (false positive)
+ * - 삭제는 없다. 👉 이름이 바뀌어도 이전 이름은 그대로 남는다. (false positive 만 늘어난다.)
+ *
+ * 크기
+ * - 비트 수 m = -n·ln(p) / (ln 2)², 해시 수 k = m/n·ln 2
+ *   👉 n=100만, p=1% 이면 m ≒ 958만 비트(1.2MB), k = 7
+ * - n 보다 많이 넣으면 fpp 가 점점 올라간다. (틀리지는 않는다.)
+ *
+ * 해시
+ * - 이름 하나로 64비트 해시를 한 번만 계산하고, 상위/하위 32비트로 k 개의 위치를 만든다. (h1 + i·h2, Kirsch-Mitzenmacher)
+ *
+ * 동시성
+ * - 비트는 AtomicLongArray 에 CAS 로 켠다. 락 없이 여러 스레드가 put/mightContain 할 수 있다.
+ */
+public final class NameBloomFilter {
+
+	private final AtomicLongArray words;
+	private final long bitSize;
+	private final int hashCount;
+
+	private NameBloomFilter(long bitSize, int hashCount) {
+		this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) >>> 6));
+		this.bitSize = bitSize;
+		this.hashCount = hashCount;
+	}
+
+	/**
+	 * @param expectedInsertions 넣을 이름 수 (n)
+	 * @param fpp 목표 false positive 확률 (p), 0 < p < 1
+	 */
+	public static NameBloomFilter create(long expectedInsertions, double fpp) {
+		if (expectedInsertions <= 0) {
+			throw new IllegalArgumentException("expectedInsertions 는 0보다 커야 합니다. " + expectedInsertions);
+		}
+		if (fpp <= 0 || fpp >= 1) {
+			throw new IllegalArgumentException("fpp 는 0과 1 사이여야 합니다. " + fpp);
+		}
+
+		long bitSize = Math.max(64, (long)Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+		int hashCount = Math.max(1, (int)Math.round((double)bitSize / expectedInsertions * Math.log(2)));
+		return new NameBloomFilter(bitSize, hashCount);
+	}
+
+	public void put(String name) {
+		long hash = hash(name);
+		int h1 = (int)hash;
+		int h2 = (int)(hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			setBit(index(h1 + (long)i * h2));
+		}
+	}
+
+	public boolean mightContain(String name) {
+		long hash = hash(name);
+		int h1 = (int)hash;
+		int h2 = (int)(hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			if (!getBit(index(h1 + (long)i * h2))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long bitSize() {
+		return bitSize;
+	}
+
+	public int hashCount() {
+		return hashCount;
+	}
+
+	private long index(long combinedHash) {
+		return (combinedHash & Long.MAX_VALUE) % bitSize;
+	}
+
+	private void setBit(long index) {
+		int word = (int)(index >>> 6);
+		long mask = 1L << index; // shift 는 하위 6비트만 사용한다.
+		long current;
+		do {
+			current = words.get(word);
+			if ((current & mask) != 0) {
+				return;
+			}
+		} while (!words.compareAndSet(word, current, current | mask));
+	}
+
+	private boolean getBit(long index) {
+		return (words.get((int)(index >>> 6)) & (1L << index)) != 0;
+	}
+
+	// FNV-1a(UTF-16 문자 단위) + murmur3 fmix64 👉 비슷한 이름("member1", "member2")도 비트가 고르게 퍼진다.
+	private static long hash(String name) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < name.length(); i++) {
+			h ^= name.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
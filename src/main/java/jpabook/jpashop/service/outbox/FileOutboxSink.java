@@ -0,0 +1,50 @@
+package jpabook.jpashop.service.outbox;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jpabook.jpashop.domain.outbox.OutboxEvent;
+
+/**
+ * 배치 하나를 NDJSON(한 줄에 이벤트 하나)으로 파일 끝에 이어 쓴다.
+ * 👉 배치당 write 1번 (이벤트마다 파일을 열고 닫지 않는다.)
+ */
+@Component
+@ConditionalOnProperty(name = "jpashop.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+	private final ObjectMapper objectMapper;
+	private final Path path;
+
+	public FileOutboxSink(
+		ObjectMapper objectMapper,
+		@Value("${jpashop.outbox.file.path:build/outbox.ndjson}") String path
+	) {
+		this.objectMapper = objectMapper;
+		this.path = Path.of(path);
+	}
+
+	@Override
+	public void publish(List<OutboxEvent> events) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		for (OutboxEvent event : events) {
+			lines.append(objectMapper.writeValueAsString(event)).append('\n');
+		}
+
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Files.writeString(path, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+}
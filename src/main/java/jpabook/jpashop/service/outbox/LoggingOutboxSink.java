@@ -0,0 +1,25 @@
+package jpabook.jpashop.service.outbox;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jpabook.jpashop.domain.outbox.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기본 sink: 로그로만 남긴다. (로컬 개발용)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jpashop.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+	@Override
+	public void publish(List<OutboxEvent> events) {
+		for (OutboxEvent event : events) {
+			log.info("outbox {} {}#{} {}", event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload());
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package jpabook.jpashop.service.outbox;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.outbox.OutboxEvent;
+import jpabook.jpashop.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 이벤트를 outbox 에 기록한다.
+ * - 주문을 변경하는 트랜잭션 안에서만 호출한다. (MANDATORY) 👉 주문이 롤백되면 이벤트도 남지 않는다.
+ * - INSERT 는 주문 INSERT 와 함께 flush 때 JDBC 배치로 나간다. (요청 스레드에서 하는 일은 이것뿐)
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+	public static final String AGGREGATE_TYPE = "Order";
+	public static final String ORDER_PLACED = "OrderPlaced";
+	public static final String ORDER_CANCELED = "OrderCanceled";
+
+	private final OutboxRepository outboxRepository;
+	private final ObjectMapper objectMapper;
+
+	public void placed(Order order) {
+		outboxRepository.save(OutboxEvent.create(AGGREGATE_TYPE, order.getId(), ORDER_PLACED, payload(order)));
+	}
+
+	public void canceled(Order order) {
+		outboxRepository.save(OutboxEvent.create(AGGREGATE_TYPE, order.getId(), ORDER_CANCELED, payload(order)));
+	}
+
+	private String payload(Order order) {
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("orderId", order.getId());
+		payload.put("memberId", order.getMember().getId());
+		payload.put("status", order.getStatus());
+		payload.put("orderDate", order.getOrderDate());
+		payload.put("totalPrice", order.getTotalPrice());
+
+		try {
+			return objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("outbox payload 직렬화 실패. orderId=" + order.getId(), e);
+		}
+	}
+}
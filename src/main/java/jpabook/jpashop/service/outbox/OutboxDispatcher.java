@@ -0,0 +1,114 @@
+package jpabook.jpashop.service.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.domain.outbox.OutboxEvent;
+import jpabook.jpashop.repository.OutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * outbox 백그라운드 발행
+ * - poll-interval-ms 마다 오래된 이벤트를 batch-size 건씩 잠그고(for update skip locked) sink 로 발행한 뒤 한 번에 지운다.
+ *   밀린 이벤트가 있으면 빈 배치가 나올 때까지 이어서 발행한다.
+ * - sink 가 실패하면 트랜잭션을 롤백해서 배치를 그대로 남겨두고 다음 poll 때 다시 시도한다.
+ * - 메트릭 (/actuator/metrics)
+ *   👉 jpashop.outbox.dispatched : 발행한 이벤트 수 (처리량)
+ *   👉 jpashop.outbox.lag        : 이벤트 생성(주문 커밋 직전) ~ 발행까지 걸린 시간
+ *   👉 jpashop.outbox.publish    : sink 배치 발행 시간
+ *   👉 jpashop.outbox.failures   : 실패한 배치 수
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+	private final OutboxRepository outboxRepository;
+	private final OutboxSink sink;
+	private final TransactionTemplate tx;
+	private final boolean enabled;
+	private final int batchSize;
+
+	private final Counter dispatched;
+	private final Counter failures;
+	private final Timer lag;
+	private final Timer publish;
+
+	public OutboxDispatcher(
+		OutboxRepository outboxRepository,
+		OutboxSink sink,
+		PlatformTransactionManager transactionManager,
+		MeterRegistry meterRegistry,
+		@Value("${jpashop.outbox.dispatcher.enabled:true}") boolean enabled,
+		@Value("${jpashop.outbox.dispatcher.batch-size:500}") int batchSize
+	) {
+		this.outboxRepository = outboxRepository;
+		this.sink = sink;
+		this.tx = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+
+		this.dispatched = meterRegistry.counter("jpashop.outbox.dispatched");
+		this.failures = meterRegistry.counter("jpashop.outbox.failures");
+		this.lag = meterRegistry.timer("jpashop.outbox.lag");
+		this.publish = meterRegistry.timer("jpashop.outbox.publish");
+	}
+
+	@Scheduled(fixedDelayString = "${jpashop.outbox.dispatcher.poll-interval-ms:200}")
+	public void poll() {
+		if (!enabled) {
+			return;
+		}
+		while (dispatchBatch() == batchSize) {
+			// 밀린 이벤트가 남아 있으면 바로 다음 배치
+		}
+	}
+
+	/**
+	 * 배치 하나 발행
+	 *
+	 * @return 발행한 이벤트 수 (실패하면 0)
+	 */
+	public int dispatchBatch() {
+		try {
+			Integer count = tx.execute(status -> {
+				List<OutboxEvent> events = outboxRepository.lockNextBatch(batchSize);
+				if (events.isEmpty()) {
+					return 0;
+				}
+
+				publish.record(() -> publishToSink(events));
+				outboxRepository.deleteAllById(events.stream().map(OutboxEvent::getId).toList());
+
+				Instant now = Instant.now();
+				events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+				return events.size();
+			});
+			dispatched.increment(count);
+			return count;
+		} catch (RuntimeException e) {
+			failures.increment();
+			log.warn("outbox dispatch failed. batchSize={}", batchSize, e);
+			return 0;
+		}
+	}
+
+	private void publishToSink(List<OutboxEvent> events) {
+		try {
+			sink.publish(events);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException("outbox sink 발행 실패", e);
+		}
+	}
+}
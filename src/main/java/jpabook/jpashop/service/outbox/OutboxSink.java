@@ -0,0 +1,15 @@
+package jpabook.jpashop.service.outbox;
+
+import java.util.List;
+
+import jpabook.jpashop.domain.outbox.OutboxEvent;
+
+/**
+ * outbox 이벤트를 받을 외부 시스템 (메시지 브로커, 파일 등)
+ * - jpashop.outbox.sink 로 구현을 고른다. (log: LoggingOutboxSink, file: FileOutboxSink)
+ * - 예외를 던지면 그 배치는 지워지지 않고 다음 poll 때 다시 발행된다. 👉 at-least-once, 받는 쪽은 id 로 중복을 걸러야 한다.
+ */
+public interface OutboxSink {
+
+	void publish(List<OutboxEvent> events) throws Exception;
+}
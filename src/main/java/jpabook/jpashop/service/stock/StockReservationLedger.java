@@ -0,0 +1,267 @@
+package jpabook.jpashop.service.stock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.catalog.ItemChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 플래시 세일용 메모리 재고 장부
+ * - 주문 수락/거절은 메모리(StripedStock)에서 하고, DB(Item.stockQuantity)에는 flush-interval-ms 마다 모아서 반영한다.
+ *   👉 인기 상품 하나에 주문이 몰려도 DB row lock 이 아니라 코어 수에 비례해서 처리량이 늘어난다.
+ * - 장부는 상품을 처음 주문할 때 DB 재고로 만들어지고, 이후 모든 주문 차감은 장부를 거치므로 재고 부족 판단이 정확하다.
+ * - 주문 취소는 커밋 후 장부에 재고를 돌려주고, 상품 수정은 장부를 DB 에 반영한 뒤 버린다. (다음 주문 때 DB 에서 다시 만든다.)
+ * - 애플리케이션이 종료될 때(@PreDestroy) 모든 장부의 차감량을 DB 에 반영한다.
+ * 👉 DB 의 재고 값은 최대 flush-interval-ms 만큼 늦게 반영된다.
+ * ⭐ 장부는 인스턴스 로컬 메모리다. 애플리케이션 인스턴스가 하나일 때만 정확하다.
+ *    여러 인스턴스가 각자 DB 재고로 장부를 만들면 같은 재고를 각자 팔게 되므로(초과 판매), 다중 인스턴스에서는 켜지 않는다.
+ */
+@Slf4j
+@Component
+public class StockReservationLedger {
+
+	private final ItemRepository itemRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate requiresNewTx;
+	private final boolean enabled;
+	private final int stripes;
+
+	private final Map<Long, StripedStock> stocks = new ConcurrentHashMap<>();
+
+	public StockReservationLedger(
+		ItemRepository itemRepository,
+		ApplicationEventPublisher eventPublisher,
+		PlatformTransactionManager transactionManager,
+		@Value("${jpashop.stock.reservation.enabled:false}") boolean enabled,
+		@Value("${jpashop.stock.reservation.stripes:0}") int stripes
+	) {
+		this.itemRepository = itemRepository;
+		this.eventPublisher = eventPublisher;
+		this.requiresNewTx = new TransactionTemplate(transactionManager);
+		this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.enabled = enabled;
+
+		int requested = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+		this.stripes = Integer.highestOneBit(Math.max(1, requested - 1)) << 1; // 2의 거듭제곱으로 올림
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 재고 예약 (주문 트랜잭션 안에서 호출)
+	 * 주문 트랜잭션이 롤백되면 예약도 취소된다.
+	 */
+	public void reserve(Long itemId, int quantity) {
+		StripedStock stock = tryReserve(itemId, quantity);
+		if (stock == null) {
+			throw new NotEnoughStockException("need more stock");
+		}
+		afterRollback(() -> unreserve(itemId, stock, quantity));
+	}
+
+	/**
+	 * 여러 상품 재고를 한 번에 예약 (대량 주문의 주문 한 건)
+	 * 하나라도 부족하면 앞에서 예약한 상품도 바로 되돌려서, 주문 일부만 예약된 채로 남지 않게 한다.
+	 *
+	 * @param quantities 상품 ID 별 수량
+	 */
+	public void reserveAll(Map<Long, Integer> quantities) {
+		Map<Long, StripedStock> reserved = new LinkedHashMap<>();
+		for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+			StripedStock stock = tryReserve(entry.getKey(), entry.getValue());
+			if (stock == null) {
+				reserved.forEach((itemId, s) -> unreserve(itemId, s, quantities.get(itemId)));
+				throw new NotEnoughStockException("need more stock");
+			}
+			reserved.put(entry.getKey(), stock);
+		}
+
+		reserved.forEach((itemId, stock) -> afterRollback(() -> unreserve(itemId, stock, quantities.get(itemId))));
+	}
+
+	/**
+	 * @return 예약한 장부, 재고가 부족하면 null
+	 */
+	private StripedStock tryReserve(Long itemId, int quantity) {
+		while (true) {
+			StripedStock stock = stocks.get(itemId);
+			if (stock == null) {
+				// DB 조회를 ConcurrentHashMap 의 bin lock 안(computeIfAbsent)에서 하지 않는다.
+				StripedStock loaded = new StripedStock(stripes, itemRepository.findStockQuantity(itemId));
+				StripedStock existing = stocks.putIfAbsent(itemId, loaded);
+				stock = existing != null ? existing : loaded;
+			}
+
+			switch (stock.tryReserve(quantity)) {
+				case RESERVED -> {
+					return stock;
+				}
+				case INSUFFICIENT -> {
+					return null;
+				}
+				case RETIRED -> Thread.onSpinWait(); // 장부를 교체하는 중 👉 새 장부로 다시 시도
+			}
+		}
+	}
+
+	/**
+	 * 주문 취소로 늘어난 재고를 커밋 후 장부에 돌려준다.
+	 */
+	public void release(Long itemId, int quantity) {
+		afterCommit(() -> {
+			StripedStock stock = stocks.get(itemId);
+			if (stock != null && !stock.isRetired()) {
+				stock.release(quantity);
+			}
+		});
+	}
+
+	/**
+	 * 상품 재고를 직접 수정하는 경우 (ItemService.updateItem)
+	 * 수정 전: 쌓인 차감량을 DB 에 반영해서 수정 화면/로직이 최신 재고를 보게 한다.
+	 * 커밋 후: 수정 전 재고로 만들어진 장부를 버린다.
+	 */
+	public void evictAround(Long itemId) {
+		evict(itemId);
+		afterCommit(() -> evict(itemId));
+	}
+
+	/**
+	 * 쌓인 차감량을 DB 에 반영한다.
+	 * 장부마다 flushLock 을 잡고 한다. 👉 차감량을 꺼낸 뒤 커밋하기 전에 evict 가 장부를 버리고 DB 재고로 새 장부를 만들면,
+	 * 아직 반영되지 않은 차감량만큼 초과 판매된다. 반영에 실패해서 되돌릴 때도 장부가 버려지지 않은 상태임이 보장된다.
+	 */
+	@Scheduled(fixedDelayString = "${jpashop.stock.reservation.flush-interval-ms:200}")
+	public void flush() {
+		stocks.forEach((itemId, stock) -> {
+			stock.flushLock().lock();
+			try {
+				if (stock.isRetired()) {
+					return; // evict 가 이미 반영했다.
+				}
+				long consumed = stock.drainConsumed();
+				if (consumed == 0) {
+					return;
+				}
+
+				try {
+					requiresNewTx.executeWithoutResult(status -> {
+						itemRepository.applyConsumedStock(itemId, consumed);
+						eventPublisher.publishEvent(new ItemChangedEvent(itemRepository.findOne(itemId))); // 주문 화면 재고 갱신
+					});
+				} catch (RuntimeException e) {
+					stock.addConsumed(consumed); // 다음 flush 때 다시 반영
+					log.warn("stock ledger flush failed. itemId={}, consumed={}", itemId, consumed, e);
+				}
+			} finally {
+				stock.flushLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * 종료 전 마지막 반영 👉 마지막 flush 이후에 수락한 주문의 차감량이 DB 에 남지 않으면, 재시작 후 같은 재고를 다시 팔게 된다.
+	 * 장부를 하나씩 닫고(retire) 남은 차감량을 모두 반영한다. 그 뒤에 들어온 주문은 DB 재고로 새 장부를 만든다.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		for (Long itemId : stocks.keySet()) {
+			try {
+				evict(itemId);
+			} catch (RuntimeException e) {
+				log.error("stock ledger final flush failed. itemId={}", itemId, e);
+			}
+		}
+	}
+
+	/**
+	 * 장부를 닫고(retire) 남은 차감량을 DB 에 반영한 뒤 버린다. (flush 와 같은 flushLock 안에서)
+	 * 반영에 실패하면 닫힌 장부에 되돌리지 않는다. (버려질 장부라 사라진다.)
+	 * 👉 남은 재고와 반영하지 못한 차감량을 그대로 가진 새 장부로 바꿔서, 다음 flush 가 다시 반영하게 한다.
+	 *    (DB 재고로 새 장부를 만들면 반영하지 못한 차감량만큼 초과 판매된다.)
+	 */
+	private void evict(Long itemId) {
+		StripedStock stock = stocks.get(itemId);
+		if (stock == null) {
+			return;
+		}
+
+		stock.flushLock().lock();
+		try {
+			if (stock.isRetired()) {
+				return;
+			}
+			stock.retire();
+			long consumed = stock.drainConsumed();
+			try {
+				if (consumed != 0) {
+					requiresNewTx.executeWithoutResult(status -> itemRepository.applyConsumedStock(itemId, consumed));
+				}
+			} catch (RuntimeException e) {
+				StripedStock replacement = new StripedStock(stripes, stock.available());
+				replacement.addConsumed(consumed);
+				stocks.replace(itemId, stock, replacement);
+				log.error("stock ledger eviction failed, consumed stock kept in a new ledger. itemId={}, consumed={}",
+					itemId, consumed);
+				throw e;
+			}
+			stocks.remove(itemId, stock); // DB 에 반영한 뒤에 지운다. 👉 다음 주문은 반영된 DB 재고로 새 장부를 만든다.
+		} finally {
+			stock.flushLock().unlock();
+		}
+	}
+
+	private void unreserve(Long itemId, StripedStock stock, int quantity) {
+		if (!stock.isRetired()) {
+			stock.unreserve(quantity);
+			return;
+		}
+		// 이미 DB 에 반영하고 버린 장부 👉 DB 재고를 직접 되돌린다.
+		requiresNewTx.executeWithoutResult(status -> itemRepository.applyConsumedStock(itemId, -quantity));
+	}
+
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private void afterRollback(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_ROLLED_BACK) {
+					action.run();
+				}
+			}
+		});
+	}
+}
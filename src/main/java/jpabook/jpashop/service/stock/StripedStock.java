@@ -0,0 +1,166 @@
+package jpabook.jpashop.service.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품 하나의 메모리 재고 (LongAdder 처럼 여러 칸(stripe)으로 나누어 관리)
+ * - 스레드마다 자기 칸에서 먼저 꺼내므로, 같은 상품에 주문이 몰려도 CAS 경합이 코어 수만큼 분산된다.
+ * - 칸마다 available(남은 재고), consumed(아직 DB 에 반영하지 않은 차감량), inFlight(진행 중인 예약 수)를 둔다.
+ * - 한 칸은 128 byte 간격으로 떨어뜨려 false sharing 을 피한다.
+ */
+class StripedStock {
+
+	enum Result {
+		RESERVED,
+		INSUFFICIENT,
+		RETIRED
+	}
+
+	private static final int STRIDE = 16; // long 16개 = 128 byte
+	private static final int AVAILABLE = 0;
+	private static final int CONSUMED = 1;
+	private static final int IN_FLIGHT = 2;
+
+	private final int stripes;
+	private final int mask;
+	private final AtomicLongArray cells;
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private volatile boolean retired;
+
+	StripedStock(int stripes, long initialStock) {
+		this.stripes = stripes;
+		this.mask = stripes - 1;
+		this.cells = new AtomicLongArray(stripes * STRIDE);
+
+		long share = initialStock / stripes;
+		for (int s = 0; s < stripes; s++) {
+			cells.set(index(s, AVAILABLE), share);
+		}
+		cells.addAndGet(index(0, AVAILABLE), initialStock - share * stripes);
+	}
+
+	Result tryReserve(int quantity) {
+		int home = homeStripe();
+		cells.incrementAndGet(index(home, IN_FLIGHT));
+		try {
+			if (retired) {
+				return Result.RETIRED;
+			}
+
+			for (int i = 0; i < stripes; i++) {
+				int stripe = (home + i) & mask;
+				if (tryTake(stripe, quantity)) {
+					cells.addAndGet(index(stripe, CONSUMED), quantity);
+					return Result.RESERVED;
+				}
+			}
+			return reserveSlow(home, quantity) ? Result.RESERVED : Result.INSUFFICIENT;
+		} finally {
+			cells.decrementAndGet(index(home, IN_FLIGHT));
+		}
+	}
+
+	/**
+	 * 예약 취소 (주문 트랜잭션 롤백) 👉 재고를 돌려주고, DB 에 반영할 차감량도 되돌린다.
+	 */
+	void unreserve(int quantity) {
+		int home = homeStripe();
+		cells.addAndGet(index(home, AVAILABLE), quantity);
+		cells.addAndGet(index(home, CONSUMED), -quantity);
+	}
+
+	/**
+	 * 재고 반환 (주문 취소) 👉 DB 재고는 주문 취소 트랜잭션이 이미 늘렸으므로 available 만 늘린다.
+	 */
+	void release(int quantity) {
+		cells.addAndGet(index(homeStripe(), AVAILABLE), quantity);
+	}
+
+	/**
+	 * DB 에 반영할 차감량을 꺼내고 0 으로 만든다.
+	 */
+	long drainConsumed() {
+		long consumed = 0;
+		for (int s = 0; s < stripes; s++) {
+			consumed += cells.getAndSet(index(s, CONSUMED), 0);
+		}
+		return consumed;
+	}
+
+	void addConsumed(long consumed) {
+		cells.addAndGet(index(0, CONSUMED), consumed);
+	}
+
+	/**
+	 * 더 이상 예약을 받지 않고, 진행 중인 예약이 끝날 때까지 기다린다.
+	 * (retired 쓰기 -> inFlight 읽기, inFlight 쓰기 -> retired 읽기 순서가 volatile 로 보장된다.)
+	 */
+	void retire() {
+		retired = true;
+		for (int s = 0; s < stripes; s++) {
+			while (cells.get(index(s, IN_FLIGHT)) != 0) {
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	boolean isRetired() {
+		return retired;
+	}
+
+	/**
+	 * 차감량을 꺼내서 DB 에 반영하는 쪽(flush, evict)끼리 잡는 락 👉 예약(tryReserve)은 이 락을 잡지 않는다.
+	 */
+	ReentrantLock flushLock() {
+		return flushLock;
+	}
+
+	long available() {
+		long available = 0;
+		for (int s = 0; s < stripes; s++) {
+			available += cells.get(index(s, AVAILABLE));
+		}
+		return available;
+	}
+
+	private boolean tryTake(int stripe, int quantity) {
+		int index = index(stripe, AVAILABLE);
+		long current;
+		do {
+			current = cells.get(index);
+			if (current < quantity) {
+				return false;
+			}
+		} while (!cells.compareAndSet(index, current, current - quantity));
+		return true;
+	}
+
+	/**
+	 * 어느 칸에도 quantity 만큼 남아있지 않은 경우(재고가 여러 칸에 조금씩 흩어진 경우)
+	 * 모든 칸의 재고를 모아서 판단한다. 👉 재고 부족 판단은 항상 전체 재고 기준이다.
+	 */
+	private synchronized boolean reserveSlow(int home, int quantity) {
+		long total = 0;
+		for (int s = 0; s < stripes; s++) {
+			total += cells.getAndSet(index(s, AVAILABLE), 0);
+		}
+
+		if (total < quantity) {
+			cells.addAndGet(index(home, AVAILABLE), total);
+			return false;
+		}
+
+		cells.addAndGet(index(home, AVAILABLE), total - quantity);
+		cells.addAndGet(index(home, CONSUMED), quantity);
+		return true;
+	}
+
+	private int homeStripe() {
+		return (int)Thread.currentThread().getId() & mask;
+	}
+
+	private static int index(int stripe, int field) {
+		return stripe * STRIDE + field;
+	}
+}
@@ -0,0 +1,102 @@
+package jpabook.jpashop.service.summary;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderSummary;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * order_summary 백필
+ * - 조회 모델이 생기기 전에 만들어진 주문(order_summary row 가 없는 주문)을 chunk-size 건씩 채운다.
+ *   👉 /orders, /api/v7/orders 는 order_summary 만 읽으므로 백필 전 주문은 목록에 나오지 않는다.
+ * - 주문 chunk 를 회원, 배송과 페치 조인으로 읽고(배송은 left join 👉 배송이 없는 주문도 빠지지 않는다.), 주문상품/상품은 IN 쿼리(default_batch_fetch_size)로 읽어서 OrderSummary.from 으로 만든다.
+ *   👉 주문 생성 때와 같은 계산이므로 상품명 요약, 금액이 같다.
+ * - chunk 마다 트랜잭션을 나눠서 커밋한다. 중간에 멈춰도 다음 시작 때 남은 주문부터 이어서 한다.
+ * - 애플리케이션 시작 시 한 번 실행한다. (채울 주문이 없으면 조회 1번으로 끝난다.)
+ */
+@Slf4j
+@Component
+public class OrderSummaryBackfill {
+
+	private final EntityManager em;
+	private final OrderSummaryRepository orderSummaryRepository;
+	private final TransactionTemplate tx;
+	private final boolean enabled;
+	private final int chunkSize;
+
+	public OrderSummaryBackfill(
+		EntityManager em,
+		OrderSummaryRepository orderSummaryRepository,
+		PlatformTransactionManager transactionManager,
+		@Value("${jpashop.order.summary-backfill.enabled:true}") boolean enabled,
+		@Value("${jpashop.order.summary-backfill.chunk-size:1000}") int chunkSize
+	) {
+		this.em = em;
+		this.orderSummaryRepository = orderSummaryRepository;
+		this.tx = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.chunkSize = chunkSize;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (!enabled) {
+			return;
+		}
+		long backfilled = backfill();
+		if (backfilled > 0) {
+			log.info("order summaries backfilled. orders={}", backfilled);
+		}
+	}
+
+	/**
+	 * @return 채운 주문 수
+	 */
+	public long backfill() {
+		long total = 0;
+		int backfilled;
+		do {
+			backfilled = tx.execute(status -> backfillChunk());
+			total += backfilled;
+		} while (backfilled == chunkSize);
+		return total;
+	}
+
+	private int backfillChunk() {
+		List<Long> orderIds = em.createQuery("""
+				select o.id from Order o
+				where not exists (select s.id from OrderSummary s where s.id = o.id)
+				order by o.id""", Long.class)
+			.setMaxResults(chunkSize)
+			.getResultList();
+
+		if (orderIds.isEmpty()) {
+			return 0;
+		}
+
+		List<Order> orders = em.createQuery("""
+				select o from Order o
+				join fetch o.member m
+				left join fetch o.delivery d
+				where o.id in :orderIds""", Order.class)
+			.setParameter("orderIds", orderIds)
+			.getResultList();
+
+		orders.forEach(order -> orderSummaryRepository.save(OrderSummary.from(order)));
+
+		em.flush(); // INSERT 는 JDBC 배치로 나간다.
+		em.clear(); // chunk 마다 영속성 컨텍스트를 비운다.
+		return orderIds.size(); // 조회한 ID 수 기준으로 다음 chunk 를 이어간다.
+	}
+}
@@ -0,0 +1,56 @@
+package jpabook.jpashop.service.summary;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderSummary;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 쓰기를 주문 목록 조회 모델(order_summary)에 반영한다.
+ * - 반드시 주문을 변경하는 트랜잭션 안에서 호출한다. (MANDATORY) 👉 주문과 조회 모델이 항상 같이 커밋된다.
+ * - INSERT/UPDATE 는 주문 INSERT 와 함께 flush 때 JDBC 배치로 나간다.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+@RequiredArgsConstructor
+public class OrderSummaryProjector {
+
+	private final OrderSummaryRepository orderSummaryRepository;
+	private final EntityManager em;
+
+	/**
+	 * 주문 생성 (order.getId() 가 있어야 하므로 orderRepository.save 이후에 호출한다.)
+	 */
+	public void created(Order order) {
+		orderSummaryRepository.save(OrderSummary.from(order));
+	}
+
+	public void canceled(Order order) {
+		OrderSummary summary = orderSummaryRepository.findOne(order.getId());
+		if (summary == null) { // 조회 모델이 생기기 전 주문
+			orderSummaryRepository.save(OrderSummary.from(order));
+			return;
+		}
+		summary.cancel(); // 변경감지
+	}
+
+	/**
+	 * 회원명이 바뀌면 그 회원의 주문 목록 row 를 한 번에 갱신한다. (bulk update)
+	 */
+	public void memberRenamed(Member member) {
+		em.createQuery("""
+				update OrderSummary s
+				set s.memberName = :memberName
+				where s.memberId = :memberId""")
+			.setParameter("memberName", member.getName())
+			.setParameter("memberId", member.getId())
+			.executeUpdate();
+	}
+}
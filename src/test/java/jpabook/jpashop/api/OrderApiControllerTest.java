@@ -0,0 +1,122 @@
+package jpabook.jpashop.api;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.service.OrderExportService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class OrderApiControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private OrderExportService orderExportService;
+
+	@BeforeEach
+	void setUp() {
+		Book book = new Book();
+		book.setName("book");
+		book.setPrice(10000);
+		book.setStockQuantity(100);
+		em.persist(book);
+
+		for (int i = 0; i < 3; i++) {
+			Member member = new Member("order-api-member" + i);
+			member.setAddress(new Address("서울", "1", "1111"));
+			em.persist(member);
+
+			Delivery delivery = new Delivery();
+			delivery.setAddress(member.getAddress());
+			em.persist(Order.createOrder(member, delivery, OrderItem.createOrderItem(book, 10000, 1)));
+		}
+
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	@DisplayName("cursor 페이징: limit 이 0 이하면 1건, 너무 크면 최대치로 조회한다.")
+	void cursor_limit_is_clamped() throws Exception {
+		long orderCount = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+
+		mockMvc.perform(get("/api/v3.2/orders").param("limit", "0"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.count").value(1))
+			.andExpect(jsonPath("$.nextCursor").isNotEmpty());
+
+		mockMvc.perform(get("/api/v3.2/orders").param("limit", "-5"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.count").value(1));
+
+		mockMvc.perform(get("/api/v3.2/orders").param("limit", String.valueOf(Integer.MAX_VALUE)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.count").value((int)orderCount))
+			.andExpect(jsonPath("$.nextCursor").value(nullValue()));
+	}
+
+	@Test
+	@DisplayName("v3 페이징: 음수 offset 은 400, limit 은 최대치로 제한하고, 주문상품이 없는 주문도 페이지에 남는다.")
+	void v3_paging() throws Exception {
+		Member member = new Member("order-api-no-items");
+		em.persist(member);
+		Order noItems = Order.createOrder(member, new Delivery());
+		em.persist(noItems);
+		em.flush();
+		em.clear();
+		long orderCount = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+
+		mockMvc.perform(get("/api/v3/orders").param("offset", "-1"))
+			.andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/api/v3/orders").param("limit", String.valueOf(Integer.MAX_VALUE)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value((int)orderCount))
+			.andExpect(jsonPath("$[?(@.orderId == %d)].orderItems[*]", noItems.getId()).isEmpty())
+			.andExpect(jsonPath("$[?(@.orderId == %d)]", noItems.getId()).value(hasSize(1)));
+	}
+
+	@Test
+	@DisplayName("export: chunkSize 가 0 이하여도 전체 주문을 한 줄씩 내보낸다.")
+	void export_with_invalid_chunk_size() throws Exception {
+		long orderCount = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+
+		for (String chunkSize : new String[] {"0", "-1", "2"}) {
+			String body = mockMvc.perform(get("/api/orders/export").param("chunkSize", chunkSize))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+			assertThat(body.lines().filter(line -> !line.isBlank()).count()).isEqualTo(orderCount);
+		}
+
+		assertThatThrownBy(() -> orderExportService.export(0, chunk -> {}))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
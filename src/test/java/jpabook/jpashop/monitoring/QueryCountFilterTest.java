@@ -0,0 +1,78 @@
+package jpabook.jpashop.monitoring;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.exception.NPlusOneQueryException;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class QueryCountFilterTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManager em;
+
+	@BeforeEach
+	void setUp() {
+		Book book = new Book();
+		book.setName("book");
+		book.setPrice(10000);
+		book.setStockQuantity(100);
+		em.persist(book);
+
+		// 회원이 모두 다르므로 LAZY 로딩 시 회원마다 쿼리가 나간다.
+		for (int i = 0; i < 12; i++) {
+			Member member = new Member("query-count-member" + i);
+			member.setAddress(new Address("서울", "1", "1111"));
+			em.persist(member);
+
+			Delivery delivery = new Delivery();
+			delivery.setAddress(member.getAddress());
+			em.persist(Order.createOrder(member, delivery, OrderItem.createOrderItem(book, 10000, 1)));
+		}
+
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	@DisplayName("요청 동안 실행된 SQL 수를 응답 헤더로 내려준다.")
+	void query_count_header() throws Exception {
+		mockMvc.perform(get("/api/v3/simple-orders"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(QueryCountHeaderAdvice.QUERY_COUNT_HEADER, "1"))
+			.andExpect(header().exists(QueryCountHeaderAdvice.QUERY_TIME_HEADER));
+	}
+
+	@Test
+	@DisplayName("같은 모양의 SQL 이 threshold 를 넘게 실행되면 N+1 로 감지한다.")
+	void detects_n_plus_one() {
+		Throwable thrown = catchThrowable(() -> mockMvc.perform(get("/api/v2/simple-orders")));
+
+		assertThat(NestedExceptionUtils.getMostSpecificCause(thrown))
+			.isInstanceOf(NPlusOneQueryException.class);
+	}
+}
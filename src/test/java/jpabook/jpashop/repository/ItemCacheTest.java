@@ -0,0 +1,66 @@
+package jpabook.jpashop.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.UpdateItemDto;
+
+/**
+ * 2차 캐시는 커밋 시점에 반영되므로 @Transactional 없이 서비스 트랜잭션으로 테스트한다.
+ */
+@SpringBootTest
+class ItemCacheTest {
+
+	@Autowired
+	private ItemService itemService;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Test
+	@DisplayName("상품 목록은 쿼리 캐시와 2차 캐시에서 조회하고, 상품을 수정하면 무효화된다.")
+	void catalog_is_cached_and_invalidated_on_update() {
+		// given
+		Book book = new Book();
+		book.setName("캐시 테스트 책");
+		book.setPrice(10000);
+		book.setStockQuantity(10);
+		itemService.saveItem(book);
+
+		Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		// when
+		itemService.findItems();
+		itemService.findItems();
+
+		// then
+		assertThat(statistics.getQueryCacheHitCount())
+			.as("두 번째 목록 조회는 쿼리 캐시를 사용한다.")
+			.isEqualTo(1);
+
+		assertThat(statistics.getDomainDataRegionStatistics("item").getHitCount())
+			.as("쿼리 캐시의 ID 로 상품 엔티티를 2차 캐시에서 꺼낸다.")
+			.isPositive();
+
+		// when: 변경감지로 수정
+		itemService.updateItem(book.getId(), new UpdateItemDto("수정된 책", 20000, 5));
+
+		// then
+		assertThat(itemService.findItems())
+			.filteredOn(item -> item.getId().equals(book.getId()))
+			.extracting(Item::getName)
+			.containsExactly("수정된 책");
+	}
+}
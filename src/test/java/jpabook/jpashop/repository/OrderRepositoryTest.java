@@ -0,0 +1,131 @@
+package jpabook.jpashop.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.order.OrderStatus;
+
+@SpringBootTest
+@Transactional
+class OrderRepositoryTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	@DisplayName("컬렉션 페치조인 조회도 Order 기준으로 DB에서 페이징된다.")
+	void findAllWithItem_pages_by_order() {
+		// given
+		for (int i = 0; i < 3; i++) {
+			createOrderWithTwoItems("member" + i);
+		}
+		em.flush();
+		em.clear();
+
+		// when
+		List<Order> firstPage = orderRepository.findAllWithItem(0, 2);
+		List<Order> secondPage = orderRepository.findAllWithItem(2, 2);
+
+		// then
+		assertThat(firstPage)
+			.as("OrderItem 수 만큼 뻥튀기 되지 않고 Order 기준으로 limit 이 적용된다.")
+			.hasSize(2);
+
+		assertThat(firstPage)
+			.extracting(Order::getId)
+			.doesNotContainAnyElementsOf(secondPage.stream().map(Order::getId).toList());
+
+		assertThat(firstPage)
+			.allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(2));
+	}
+
+	@Test
+	@DisplayName("search 는 주어진 조건만 적용하고, 같은 조건 모양이면 같은 JPQL 을 재사용한다.")
+	void search_by_shape() {
+		// given
+		Order kim = createOrderWithTwoItems("kim_1");
+		Order kimCanceled = createOrderWithTwoItems("kim%2");
+		Order lee = createOrderWithTwoItems("lee");
+		kimCanceled.cancel();
+		em.flush();
+		em.clear();
+
+		// when, then
+		OrderSearch byName = new OrderSearch();
+		byName.setMemberName("kim");
+		assertThat(orderRepository.search(byName))
+			.extracting(Order::getId)
+			.containsExactlyInAnyOrder(kim.getId(), kimCanceled.getId());
+
+		OrderSearch byEscapedName = new OrderSearch();
+		byEscapedName.setMemberName("kim%");
+		assertThat(orderRepository.search(byEscapedName))
+			.as("%, _ 는 와일드카드가 아니라 문자로 검색한다.")
+			.extracting(Order::getId)
+			.containsExactly(kimCanceled.getId());
+
+		OrderSearch byStatuses = new OrderSearch();
+		byStatuses.setMemberName("kim");
+		byStatuses.setOrderStatuses(Set.of(OrderStatus.ORDER));
+		assertThat(orderRepository.search(byStatuses))
+			.extracting(Order::getId)
+			.containsExactly(kim.getId());
+
+		OrderSearch byItem = new OrderSearch();
+		byItem.setItemId(lee.getOrderItems().get(0).getItem().getId());
+		byItem.setSort(OrderSort.ID_ASC);
+		byItem.setLimit(10);
+		assertThat(orderRepository.search(byItem))
+			.extracting(Order::getId)
+			.containsExactly(lee.getId());
+
+		assertThat(OrderSearchQuery.ORDERS.jpql(byName))
+			.as("값이 달라도 모양이 같으면 캐시된 JPQL 인스턴스를 그대로 쓴다.")
+			.isSameAs(OrderSearchQuery.ORDERS.jpql(byEscapedName))
+			.isNotSameAs(OrderSearchQuery.ORDERS.jpql(byStatuses));
+	}
+
+	private Order createOrderWithTwoItems(String memberName) {
+		Member member = new Member(memberName);
+		em.persist(member);
+
+		Book book1 = createBook(memberName + "-book1");
+		Book book2 = createBook(memberName + "-book2");
+
+		Delivery delivery = new Delivery();
+		delivery.setAddress(member.getAddress());
+
+		Order order = Order.createOrder(member, delivery,
+			OrderItem.createOrderItem(book1, 10000, 1),
+			OrderItem.createOrderItem(book2, 20000, 1));
+		em.persist(order);
+		return order;
+	}
+
+	private Book createBook(String name) {
+		Book book = new Book();
+		book.setName(name);
+		book.setPrice(10000);
+		book.setStockQuantity(10);
+		em.persist(book);
+		return book;
+	}
+}
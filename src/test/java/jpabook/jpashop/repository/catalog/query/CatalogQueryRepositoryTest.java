@@ -0,0 +1,91 @@
+package jpabook.jpashop.repository.catalog.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.item.Book;
+
+@SpringBootTest
+@Transactional
+class CatalogQueryRepositoryTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private CatalogQueryRepository catalogQueryRepository;
+
+	@Test
+	@DisplayName("이름 prefix 로 검색하고 (name, id) 순으로 Keyset 페이징한다.")
+	void searchItems_by_prefix_with_keyset() {
+		// given
+		createBook("search-apple", 10000, 1);
+		createBook("search-apricot", 20000, 0);
+		createBook("search-avocado", 30000, 5);
+		createBook("search-avocado", 40000, 5); // 같은 이름
+		createBook("search-banana", 10000, 5);
+		createBook("search%", 10000, 5);
+
+		ItemSearch search = new ItemSearch();
+		search.setNamePrefix("search-a");
+
+		// when
+		List<ItemOptionDto> firstPage = catalogQueryRepository.searchItems(search, null, null, 3);
+		ItemOptionDto last = firstPage.get(firstPage.size() - 1);
+		List<ItemOptionDto> secondPage = catalogQueryRepository.searchItems(search, last.getName(), last.getId(), 3);
+
+		// then
+		assertThat(firstPage)
+			.extracting(ItemOptionDto::getName)
+			.containsExactly("search-apple", "search-apricot", "search-avocado");
+		assertThat(secondPage)
+			.as("이름이 같아도 id 로 이어서 조회한다.")
+			.extracting(ItemOptionDto::getPrice)
+			.containsExactly(40000);
+	}
+
+	@Test
+	@DisplayName("가격, 재고 조건을 함께 적용하고, 검색어의 % 는 문자로 취급한다.")
+	void searchItems_with_filters() {
+		// given
+		createBook("filter-a", 10000, 1);
+		createBook("filter-b", 20000, 0);
+		createBook("filter-c", 30000, 5);
+		createBook("filter%", 10000, 5);
+		createBook("filterX", 10000, 5);
+
+		ItemSearch search = new ItemSearch();
+		search.setNamePrefix("filter-");
+		search.setMinPrice(15000);
+		search.setInStockOnly(true);
+
+		ItemSearch wildcard = new ItemSearch();
+		wildcard.setNamePrefix("filter%");
+
+		// when & then
+		assertThat(catalogQueryRepository.searchItems(search, null, null, 10))
+			.extracting(ItemOptionDto::getName)
+			.containsExactly("filter-c");
+
+		assertThat(catalogQueryRepository.searchItems(wildcard, null, null, 10))
+			.extracting(ItemOptionDto::getName)
+			.containsExactly("filter%");
+	}
+
+	private void createBook(String name, int price, int stockQuantity) {
+		Book book = new Book();
+		book.setName(name);
+		book.setPrice(price);
+		book.setStockQuantity(stockQuantity);
+		em.persist(book);
+	}
+}
@@ -0,0 +1,98 @@
+package jpabook.jpashop.repository.order.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.type.Address;
+
+@SpringBootTest
+@Transactional
+class OrderQueryRepositoryTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private OrderQueryRepository orderQueryRepository;
+
+	@Test
+	@DisplayName("v5(IN 쿼리), v6(flat) 모두 주문상품을 자기 주문에 묶고, 주문상품이 없는 주문도 빈 목록으로 남긴다.")
+	void groups_order_items_by_order() {
+		// given: 상품 2개 주문, 상품 1개 주문, 상품 없는 주문
+		Book book1 = createBook("query-book1", 10000);
+		Book book2 = createBook("query-book2", 20000);
+		Order twoItems = createOrder("query-member1",
+			OrderItem.createOrderItem(book1, 10000, 1),
+			OrderItem.createOrderItem(book2, 20000, 2));
+		Order oneItem = createOrder("query-member2",
+			OrderItem.createOrderItem(book2, 20000, 3));
+		Order noItems = createOrder("query-member3");
+		em.flush();
+		em.clear();
+
+		long afterOrderId = twoItems.getId() - 1;
+		List<BiFunction<Long, Integer, List<OrderQueryDto>>> queries = List.of(
+			orderQueryRepository::findAllByDto_optimization,
+			orderQueryRepository::findAllByDto_flat);
+
+		for (BiFunction<Long, Integer, List<OrderQueryDto>> query : queries) {
+			// when
+			List<OrderQueryDto> result = query.apply(afterOrderId, 3);
+
+			// then
+			assertThat(result).extracting(OrderQueryDto::getOrderId)
+				.containsExactly(twoItems.getId(), oneItem.getId(), noItems.getId());
+			assertThat(result.get(0).getOrderItems())
+				.extracting(OrderItemQueryDto::getItemName, OrderItemQueryDto::getCount)
+				.containsExactlyInAnyOrder(tuple("query-book1", 1), tuple("query-book2", 2));
+			assertThat(result.get(1).getOrderItems())
+				.extracting(OrderItemQueryDto::getItemName, OrderItemQueryDto::getCount)
+				.containsExactly(tuple("query-book2", 3));
+			assertThat(result.get(2).getOrderItems()).isEmpty();
+			assertThat(result).allSatisfy(order -> assertThat(order.getOrderItems())
+				.allSatisfy(item -> assertThat(item.getOrderId()).isEqualTo(order.getOrderId())));
+
+			// limit 만큼만 조회하고, 다음 페이지는 마지막 orderId 뒤부터 이어진다.
+			assertThat(query.apply(afterOrderId, 2)).extracting(OrderQueryDto::getOrderId)
+				.containsExactly(twoItems.getId(), oneItem.getId());
+			assertThat(query.apply(oneItem.getId(), 1)).extracting(OrderQueryDto::getOrderId)
+				.containsExactly(noItems.getId());
+		}
+	}
+
+	private Order createOrder(String memberName, OrderItem... orderItems) {
+		Member member = new Member(memberName);
+		member.setAddress(new Address("서울", "1", "1111"));
+		em.persist(member);
+
+		Delivery delivery = new Delivery();
+		delivery.setAddress(member.getAddress());
+		Order order = Order.createOrder(member, delivery, orderItems);
+		em.persist(order);
+		return order;
+	}
+
+	private Book createBook(String name, int price) {
+		Book book = new Book();
+		book.setName(name);
+		book.setPrice(price);
+		book.setStockQuantity(10);
+		em.persist(book);
+		return book;
+	}
+}
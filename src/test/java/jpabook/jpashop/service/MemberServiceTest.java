@@ -62,4 +62,16 @@ class MemberServiceTest {
 		assertThatThrownBy(() -> memberService.join(member2))
 			.isInstanceOf(IllegalStateException.class);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void 중복_회원_예외_유니크_제약() {
+		// given: 가입 절차 없이 저장된 회원 👉 MemberNameFilter 에 없는 이름이므로 중복 조회를 건너뛸 수 있다.
+		em.persist(new Member("kim2"));
+		em.flush();
+
+		// when & then: 조회를 건너뛰어도 유니크 제약(uk_member_name) 위반이 같은 예외로 바뀐다.
+		assertThatThrownBy(() -> memberService.join(new Member("kim2")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("이미 존재하는 회원입니다.");
+	}
+}
@@ -0,0 +1,190 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.exception.NotEnoughStockException;
+
+/**
+ * 동시 주문 부하 테스트 (트랜잭션을 커밋해야 하므로 @Transactional 을 붙이지 않는다.)
+ * - hot  : 상품 1개에 모든 스레드가 몰리는 경우 👉 초과 판매 없이 재고만큼만 주문이 성공해야 한다.
+ * - cold : 여러 상품에 주문이 흩어지는 경우 👉 모든 주문이 성공하고 상품별 재고가 정확해야 한다.
+ */
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderServiceConcurrencyTest.class);
+
+	private static final int THREADS = 8;
+	private static final int ORDERS_PER_THREAD = 50;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	@Test
+	@DisplayName("인기 상품 하나에 동시 주문이 몰려도 재고만큼만 주문된다.")
+	void hot_item() throws Exception {
+		// given
+		int stockQuantity = 100;
+		Long memberId = createMember();
+		Long itemId = createBook(stockQuantity);
+
+		AtomicInteger success = new AtomicInteger();
+		AtomicInteger soldOut = new AtomicInteger();
+
+		// when
+		long elapsedNanos = runConcurrently(i -> {
+			try {
+				orderService.order(memberId, itemId, 1);
+				success.incrementAndGet();
+			} catch (NotEnoughStockException e) {
+				soldOut.incrementAndGet();
+			}
+		});
+
+		// then
+		report("hot item", elapsedNanos);
+		assertThat(success.get()).isEqualTo(stockQuantity);
+		assertThat(soldOut.get()).isEqualTo(THREADS * ORDERS_PER_THREAD - stockQuantity);
+		assertThat(findStock(itemId)).isZero();
+	}
+
+	@Test
+	@DisplayName("여러 상품에 흩어진 동시 주문은 모두 성공하고 재고가 정확하다.")
+	void cold_items() throws Exception {
+		// given
+		int itemCount = 40;
+		int stockQuantity = 100;
+		Long memberId = createMember();
+
+		List<Long> itemIds = new ArrayList<>();
+		for (int i = 0; i < itemCount; i++) {
+			itemIds.add(createBook(stockQuantity));
+		}
+
+		// when
+		long elapsedNanos = runConcurrently(i -> orderService.order(memberId, itemIds.get(i % itemCount), 1));
+
+		// then
+		report("cold items", elapsedNanos);
+		int ordersPerItem = THREADS * ORDERS_PER_THREAD / itemCount;
+		for (Long itemId : itemIds) {
+			assertThat(findStock(itemId)).isEqualTo(stockQuantity - ordersPerItem);
+		}
+	}
+
+	@Test
+	@DisplayName("같은 상품의 주문과 동시에 취소해도 낙관적 락 예외 없이 재고가 정확하다.")
+	void cancel_races_with_orders() throws Exception {
+		// given
+		int stockQuantity = 1000;
+		int tasks = THREADS * ORDERS_PER_THREAD;
+		Long memberId = createMember();
+		Long itemId = createBook(stockQuantity);
+
+		List<Long> orderIds = new ArrayList<>();
+		for (int i = 0; i < tasks / 2; i++) {
+			orderIds.add(orderService.order(memberId, itemId, 1));
+		}
+
+		// when: 짝수는 기존 주문 취소, 홀수는 새 주문
+		runConcurrently(i -> {
+			if (i % 2 == 0) {
+				orderService.cancelOrder(orderIds.get(i / 2));
+			} else {
+				orderService.order(memberId, itemId, 1);
+			}
+		});
+
+		// then: 기존 주문 tasks/2 건은 모두 취소되고 새 주문 tasks/2 건만 남는다.
+		assertThat(findStock(itemId)).isEqualTo(stockQuantity - tasks / 2);
+	}
+
+	private long runConcurrently(OrderTask task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		AtomicInteger sequence = new AtomicInteger();
+
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			workers.add(() -> {
+				for (int n = 0; n < ORDERS_PER_THREAD; n++) {
+					task.run(sequence.getAndIncrement());
+				}
+				return null;
+			});
+		}
+
+		long start = System.nanoTime();
+		try {
+			for (Future<Void> future : executor.invokeAll(workers)) {
+				future.get(); // 예상하지 못한 예외는 테스트 실패
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private void report(String scenario, long elapsedNanos) {
+		int orders = THREADS * ORDERS_PER_THREAD;
+		log.info("[{}] {} orders, {} threads: {} orders/sec",
+			scenario, orders, THREADS, Math.round(orders / (elapsedNanos / 1_000_000_000.0)));
+	}
+
+	private Long createMember() {
+		return tx.execute(status -> {
+			Member member = new Member("concurrency-" + UUID.randomUUID());
+			member.setAddress(new Address("서울", "1", "1111"));
+			em.persist(member);
+			return member.getId();
+		});
+	}
+
+	private Long createBook(int stockQuantity) {
+		return tx.execute(status -> {
+			Book book = new Book();
+			book.setName("concurrency-book");
+			book.setPrice(10000);
+			book.setStockQuantity(stockQuantity);
+			em.persist(book);
+			return book.getId();
+		});
+	}
+
+	private int findStock(Long itemId) {
+		return tx.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+	}
+
+	@FunctionalInterface
+	private interface OrderTask {
+		void run(int sequence);
+	}
+}
@@ -2,6 +2,9 @@ package jpabook.jpashop.service;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.DisplayName;
@@ -14,9 +17,12 @@ import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.member.Member;
 import jpabook.jpashop.domain.order.Order;
 import jpabook.jpashop.domain.order.OrderStatus;
+import jpabook.jpashop.domain.order.OrderSummary;
 import jpabook.jpashop.domain.type.Address;
 import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.monitoring.QueryCountContext;
 import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
 
 @SpringBootTest
 @Transactional
@@ -66,6 +72,24 @@ class OrderServiceTest {
 			.isEqualTo(initialBookStockQuantity - orderCount);
 	}
 
+	@Test
+	@DisplayName("같은 트랜잭션에서 저장한(아직 INSERT 전인) 상품도 주문된다.")
+	void order_item_persisted_in_same_transaction() {
+		// given: flush 하지 않는다. 👉 상품 INSERT 가 쓰기 지연 저장소에 남아 있다.
+		Member member = createMember("same-tx");
+		Book book = createBook("same-tx-book", 10000, 5);
+
+		// when
+		Long orderId = orderService.order(member.getId(), book.getId(), 5);
+
+		// then
+		assertThat(orderId).isNotNull();
+		assertThat(book.getStockQuantity()).isZero();
+		assertThatThrownBy(() -> orderService.order(member.getId(), book.getId(), 1))
+			.as("재고를 모두 썼으므로 이번에는 재고 부족이 맞다.")
+			.isInstanceOf(NotEnoughStockException.class);
+	}
+
 	/*
 		"통합 테스트를 하는 것보다 item.removeStock()에 대한 단위테스트가 더 중요하다."
 		"엔티티 자체의 비즈니스 로직을 테스트 하는 것이 중요하다."
@@ -115,6 +139,147 @@ class OrderServiceTest {
 			.isEqualTo(stockQuantity);
 	}
 
+	@Test
+	@DisplayName("대량 주문은 재고가 부족한 주문만 실패하고 나머지 주문은 저장된다.")
+	void order_bulk() {
+		// given
+		Member member = createMember("name");
+		Book book1 = createBook("book1", 10000, 10);
+		Book book2 = createBook("book2", 20000, 3);
+
+		List<BulkOrderDto> orders = List.of(
+			new BulkOrderDto(member.getId(), List.of(
+				new BulkOrderDto.Line(book1.getId(), 2),
+				new BulkOrderDto.Line(book2.getId(), 1))),
+			new BulkOrderDto(member.getId(), List.of(
+				new BulkOrderDto.Line(book1.getId(), 1),
+				new BulkOrderDto.Line(book2.getId(), 3))), // book2 재고 부족 (남은 재고 2)
+			new BulkOrderDto(member.getId(), List.of(
+				new BulkOrderDto.Line(book1.getId(), 3))));
+
+		// when
+		List<BulkOrderResult> results = orderService.orderBulk(orders);
+		em.flush();
+
+		// then
+		assertThat(results)
+			.extracting(BulkOrderResult::isSuccess)
+			.containsExactly(true, false, true);
+
+		assertThat(orderRepository.findOne(results.get(0).getOrderId()).getTotalPrice())
+			.isEqualTo(10000 * 2 + 20000);
+
+		assertThat(book1.getStockQuantity())
+			.as("실패한 주문의 상품은 재고가 차감되지 않는다.")
+			.isEqualTo(10 - 2 - 3);
+
+		assertThat(book2.getStockQuantity())
+			.isEqualTo(3 - 1);
+	}
+
+	@Test
+	@DisplayName("대량 주문의 재고는 요청 전체를 상품별로 합쳐서 상품당 UPDATE 한 번으로 차감한다.")
+	void order_bulk_updates_stock_once_per_item() {
+		// given
+		Member member = createMember("bulk-statements");
+		Book book1 = createBook("book1", 10000, 100);
+		Book book2 = createBook("book2", 20000, 100);
+		em.flush();
+
+		int orderCount = 30;
+		List<BulkOrderDto> orders = new ArrayList<>();
+		for (int i = 0; i < orderCount; i++) {
+			orders.add(new BulkOrderDto(member.getId(), List.of(
+				new BulkOrderDto.Line(book1.getId(), 1),
+				new BulkOrderDto.Line(book2.getId(), 2))));
+		}
+
+		// when
+		QueryCountContext context = QueryCountContext.start();
+		try {
+			orderService.orderBulk(orders);
+			em.flush();
+		} finally {
+			QueryCountContext.clear();
+		}
+
+		// then
+		assertThat(context.getCount())
+			.as("조회 2번 + 재고 UPDATE 배치 1번 + INSERT 배치 👉 주문 줄(%d)보다 훨씬 적다.", orderCount * 2)
+			.isLessThan(orderCount);
+		assertThat(findStock(book1.getId())).isEqualTo(100 - orderCount);
+		assertThat(findStock(book2.getId())).isEqualTo(100 - orderCount * 2);
+	}
+
+	@Test
+	@DisplayName("합계를 차감하지 못한 상품이 있으면 그 상품이 든 주문만 한 건씩 다시 차감하고, 실패한 주문의 다른 상품은 되돌린다.")
+	void order_bulk_falls_back_per_order_when_aggregate_update_fails() {
+		// given
+		Member member = createMember("bulk-fallback");
+		Book book1 = createBook("book1", 10000, 10);
+		Book book2 = createBook("book2", 20000, 10);
+		em.flush();
+
+		// 읽어둔 엔티티(재고 10)는 그대로 두고 DB 재고만 줄인다. (다른 트랜잭션이 먼저 주문한 상황)
+		em.createNativeQuery("update item set stock_quantity = 3 where item_id = :itemId")
+			.setParameter("itemId", book1.getId())
+			.executeUpdate();
+
+		List<BulkOrderDto> orders = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			orders.add(new BulkOrderDto(member.getId(), List.of(
+				new BulkOrderDto.Line(book1.getId(), 2),
+				new BulkOrderDto.Line(book2.getId(), 1))));
+		}
+
+		// when
+		List<BulkOrderResult> results = orderService.orderBulk(orders);
+		em.flush();
+
+		// then
+		assertThat(results)
+			.extracting(BulkOrderResult::isSuccess)
+			.containsExactly(true, false, false);
+		assertThat(findStock(book1.getId())).isEqualTo(3 - 2);
+		assertThat(findStock(book2.getId()))
+			.as("실패한 주문의 book2 는 되돌린다.")
+			.isEqualTo(10 - 1);
+	}
+
+	@Test
+	@DisplayName("주문/취소는 같은 트랜잭션에서 주문 목록 조회 모델에 반영된다.")
+	void order_summary_is_projected_on_write() {
+		// given
+		Member member = createMember("summary");
+		Book book1 = createBook("book1", 10000, 10);
+		Book book2 = createBook("book2", 20000, 10);
+
+		List<BulkOrderResult> results = orderService.orderBulk(List.of(
+			new BulkOrderDto(member.getId(), List.of(
+				new BulkOrderDto.Line(book1.getId(), 2),
+				new BulkOrderDto.Line(book2.getId(), 1)))));
+		Long orderId = results.get(0).getOrderId();
+
+		// when
+		orderService.cancelOrder(orderId);
+		em.flush();
+		em.clear();
+
+		// then
+		OrderSearch orderSearch = new OrderSearch();
+		orderSearch.setMemberName("summary");
+		List<OrderSummary> summaries = orderService.findOrderSummaries(orderSearch);
+
+		assertThat(summaries).hasSize(1);
+		OrderSummary summary = summaries.get(0);
+		assertThat(summary.getId()).isEqualTo(orderId);
+		assertThat(summary.getStatus()).isEqualTo(OrderStatus.CANCEL);
+		assertThat(summary.getItemCount()).isEqualTo(2);
+		assertThat(summary.getTotalPrice()).isEqualTo(10000 * 2 + 20000);
+		assertThat(summary.getItemNames()).isEqualTo("book1, book2");
+		assertThat(summary.getAddress().getCity()).isEqualTo("서울");
+	}
+
 	private Member createMember(String name) {
 		Member member = new Member();
 		member.setAddress(new Address("서울", "강가", "123-123"));
@@ -123,6 +288,12 @@ class OrderServiceTest {
 		return member;
 	}
 
+	private int findStock(Long itemId) {
+		return em.createQuery("select i.stockQuantity from Item i where i.id = :itemId", Integer.class)
+			.setParameter("itemId", itemId)
+			.getSingleResult();
+	}
+
 	private Book createBook(String name, int price, int stockQuantity) {
 		Book book = new Book();
 		book.setName(name);
@@ -0,0 +1,77 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+
+@SpringBootTest
+@Transactional
+class OrderTotalsBackfillTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private OrderTotalsBackfill orderTotalsBackfill;
+
+	@Test
+	@DisplayName("주문 금액/상품 수는 주문 생성 시 저장되고, 비어있는 주문은 백필이 order_item 으로 채운다.")
+	void backfills_order_totals() {
+		// given
+		Member member = new Member("backfill");
+		em.persist(member);
+		Book book1 = createBook("book1", 10000);
+		Book book2 = createBook("book2", 20000);
+
+		Delivery delivery = new Delivery();
+		Order order = Order.createOrder(member, delivery,
+			OrderItem.createOrderItem(book1, 10000, 2),
+			OrderItem.createOrderItem(book2, 20000, 1));
+		em.persist(order);
+		em.flush();
+
+		assertThat(storedTotals(order.getId()))
+			.as("주문 생성 시 저장된다.")
+			.containsExactly(40000, 2);
+
+		// 컬럼이 생기기 전 주문
+		em.createNativeQuery("update orders set total_price = null, item_count = null where order_id = :orderId")
+			.setParameter("orderId", order.getId())
+			.executeUpdate();
+		em.clear();
+
+		// when
+		long backfilled = orderTotalsBackfill.backfill();
+
+		// then
+		assertThat(backfilled).isEqualTo(1);
+		assertThat(storedTotals(order.getId())).containsExactly(40000, 2);
+	}
+
+	private Object[] storedTotals(Long orderId) {
+		return em.createQuery("select o.totalPrice, o.itemCount from Order o where o.id = :orderId", Object[].class)
+			.setParameter("orderId", orderId)
+			.getSingleResult();
+	}
+
+	private Book createBook(String name, int price) {
+		Book book = new Book();
+		book.setName(name);
+		book.setPrice(price);
+		book.setStockQuantity(10);
+		em.persist(book);
+		return book;
+	}
+}
@@ -0,0 +1,74 @@
+package jpabook.jpashop.service.async;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest
+class AsyncQueryExecutorTest {
+
+	@Autowired
+	private AsyncQueryExecutor asyncQueryExecutor;
+
+	@Test
+	@DisplayName("독립적인 조회는 각자의 읽기 전용 트랜잭션에서 동시에 실행된다.")
+	void runs_queries_concurrently_in_own_transactions() {
+		// given: 두 작업이 서로를 기다린다. 👉 동시에 실행되지 않으면 끝나지 않는다.
+		CountDownLatch bothStarted = new CountDownLatch(2);
+
+		// when
+		CompletableFuture<String> first = asyncQueryExecutor.submit(() -> awaitOther(bothStarted), Duration.ofSeconds(5));
+		CompletableFuture<String> second = asyncQueryExecutor.submit(() -> awaitOther(bothStarted), Duration.ofSeconds(5));
+
+		// then
+		assertThat(first.join()).isEqualTo("read-only tx");
+		assertThat(second.join()).isEqualTo("read-only tx");
+	}
+
+	@Test
+	@DisplayName("timeout 을 넘기면 TimeoutException 으로 끝난다.")
+	void times_out() {
+		CompletableFuture<Object> slow = asyncQueryExecutor.submit(() -> {
+			sleep(500);
+			return null;
+		}, Duration.ofMillis(100));
+
+		assertThatThrownBy(slow::join)
+			.isInstanceOf(CompletionException.class)
+			.hasCauseInstanceOf(TimeoutException.class);
+	}
+
+	private String awaitOther(CountDownLatch bothStarted) {
+		bothStarted.countDown();
+		try {
+			if (!bothStarted.await(3, TimeUnit.SECONDS)) {
+				return "not concurrent";
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		boolean readOnlyTx = TransactionSynchronizationManager.isActualTransactionActive()
+			&& TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+		return readOnlyTx ? "read-only tx" : "no tx";
+	}
+
+	private void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
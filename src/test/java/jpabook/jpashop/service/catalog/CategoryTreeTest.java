@@ -0,0 +1,61 @@
+package jpabook.jpashop.service.catalog;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jpabook.jpashop.repository.catalog.query.CategoryRowDto;
+
+class CategoryTreeTest {
+
+	/*
+		1 도서
+		├ 2 IT
+		│ └ 4 Java
+		│   └ 5 JPA
+		└ 3 소설
+		6 음반
+	 */
+	private final CategoryTree tree = CategoryTree.of(List.of(
+		new CategoryRowDto(5L, "JPA", 4L),
+		new CategoryRowDto(3L, "소설", 1L),
+		new CategoryRowDto(1L, "도서", null),
+		new CategoryRowDto(4L, "Java", 2L),
+		new CategoryRowDto(6L, "음반", null),
+		new CategoryRowDto(2L, "IT", 1L)));
+
+	@Test
+	@DisplayName("하위 트리는 자기 자신부터 전위 순회 순서로, 깊이와 함께 조회된다.")
+	void subtree() {
+		assertThat(tree.subtree(1L))
+			.extracting(CategoryNode::getId, CategoryNode::getDepth)
+			.containsExactly(
+				tuple(1L, 0), tuple(2L, 1), tuple(4L, 2), tuple(5L, 3), tuple(3L, 1));
+
+		assertThat(tree.subtreeIds(4L)).containsExactly(4L, 5L);
+		assertThat(tree.subtree(99L)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("조상은 최상위부터 부모까지 조회된다.")
+	void ancestors() {
+		assertThat(tree.ancestors(5L))
+			.extracting(CategoryNode::getName)
+			.containsExactly("도서", "IT", "Java");
+
+		assertThat(tree.ancestors(1L)).isEmpty();
+		assertThat(tree.ancestors(99L)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("부모가 없는 카테고리는 최상위가 된다.")
+	void roots() {
+		assertThat(tree.roots())
+			.extracting(CategoryNode::getId)
+			.containsExactly(1L, 6L);
+		assertThat(tree.size()).isEqualTo(6);
+	}
+}
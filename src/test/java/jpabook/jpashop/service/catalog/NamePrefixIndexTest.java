@@ -0,0 +1,92 @@
+package jpabook.jpashop.service.catalog;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NamePrefixIndexTest {
+
+	@Test
+	@DisplayName("prefix 로 시작하는 이름을 (name, id) 순으로 k 개까지 찾는다.")
+	void search() {
+		// given
+		NamePrefixIndex index = NamePrefixIndex.empty();
+		index.load(new long[] {1, 2, 3, 4, 5}, new String[] {"JPA2 Book", "Spring1", "JPA1 Book", "JPA1 Book", "시골 JPA"});
+
+		// when & then
+		assertThat(index.search("JPA", 10))
+			.extracting(NameMatch::getId)
+			.containsExactly(3L, 4L, 1L);
+		assertThat(index.search("JPA", 2)).hasSize(2);
+		assertThat(index.search("시골", 10))
+			.extracting(NameMatch::getName)
+			.containsExactly("시골 JPA");
+		assertThat(index.search("X", 10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("추가/변경된 이름은 다시 만들지 않아도 바로 검색된다.")
+	void put() {
+		// given
+		NamePrefixIndex index = NamePrefixIndex.empty();
+		index.load(new long[] {1, 2}, new String[] {"JPA1 Book", "JPA2 Book"});
+
+		// when
+		index.put(3, "JPA0 Book"); // 추가
+		index.put(2, "Spring Book"); // 변경
+		index.put(1, "JPA1 Book"); // 그대로
+
+		// then
+		assertThat(index.search("JPA", 10))
+			.extracting(NameMatch::getName)
+			.containsExactly("JPA0 Book", "JPA1 Book");
+		assertThat(index.search("Spring", 10))
+			.extracting(NameMatch::getId)
+			.containsExactly(2L);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("변경이 많이 쌓여서 base 로 합쳐져도 결과는 같다.")
+	void merge() {
+		// given
+		NamePrefixIndex index = NamePrefixIndex.empty();
+		index.load(new long[] {0}, new String[] {"item-0"});
+
+		// when
+		for (int i = 1; i <= 10_000; i++) {
+			index.put(i, "item-" + i);
+		}
+		index.put(0, "renamed");
+
+		// then
+		assertThat(index.size()).isEqualTo(10_001);
+		assertThat(index.search("item-1000", 10))
+			.extracting(NameMatch::getName)
+			.containsExactly("item-1000", "item-10000");
+		assertThat(index.search("renamed", 10))
+			.extracting(NameMatch::getId)
+			.containsExactly(0L);
+	}
+
+	@Test
+	@DisplayName("여러 건을 한 번에 추가/변경해도 한 건씩 넣은 것과 같다. (같은 id 는 마지막 값)")
+	void putAll() {
+		// given
+		NamePrefixIndex index = NamePrefixIndex.empty();
+		index.load(new long[] {1}, new String[] {"JPA1 Book"});
+
+		// when
+		index.putAll(new long[] {2, 3, 2, 1}, new String[] {"JPA2 Book", "JPA3 Book", "Spring Book", "JPA1 Book"});
+
+		// then
+		assertThat(index.search("JPA", 10))
+			.extracting(NameMatch::getId)
+			.containsExactly(1L, 3L);
+		assertThat(index.search("Spring", 10))
+			.extracting(NameMatch::getId)
+			.containsExactly(2L);
+		assertThat(index.size()).isEqualTo(3);
+	}
+}
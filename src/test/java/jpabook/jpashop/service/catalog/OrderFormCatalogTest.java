@@ -0,0 +1,78 @@
+package jpabook.jpashop.service.catalog;
+
+import static org.assertj.core.api.Assertions.*;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.repository.catalog.query.ItemOptionDto;
+import jpabook.jpashop.repository.catalog.query.MemberOptionDto;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.UpdateItemDto;
+
+/**
+ * 변경 이벤트는 커밋 후에 반영되므로 @Transactional 없이 서비스 트랜잭션으로 테스트한다.
+ */
+@SpringBootTest
+class OrderFormCatalogTest {
+
+	@Autowired
+	private OrderFormCatalog orderFormCatalog;
+
+	@Autowired
+	private MemberService memberService;
+
+	@Autowired
+	private ItemService itemService;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Test
+	@DisplayName("회원 가입, 상품 등록/수정은 전체 다시 조회 없이 선택 목록에 반영된다.")
+	void patched_by_change_events() {
+		// given
+		Member member = new Member("catalog-member");
+		Long memberId = memberService.join(member);
+
+		Book book = new Book();
+		book.setName("catalog-book");
+		book.setPrice(10000);
+		book.setStockQuantity(10);
+		itemService.saveItem(book);
+
+		itemService.updateItem(book.getId(), new UpdateItemDto("catalog-book-v2", 12000, 7));
+
+		Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		long statementsBefore = statistics.getPrepareStatementCount();
+
+		// when
+		MemberOptionDto memberOption = orderFormCatalog.members().stream()
+			.filter(option -> option.getId().equals(memberId))
+			.findFirst()
+			.orElseThrow();
+		ItemOptionDto itemOption = orderFormCatalog.items().stream()
+			.filter(option -> option.getId().equals(book.getId()))
+			.findFirst()
+			.orElseThrow();
+
+		// then
+		assertThat(memberOption.getName()).isEqualTo("catalog-member");
+		assertThat(itemOption.getName()).isEqualTo("catalog-book-v2");
+		assertThat(itemOption.getPrice()).isEqualTo(12000);
+		assertThat(itemOption.getStockQuantity()).isEqualTo(7);
+
+		assertThat(statistics.getPrepareStatementCount())
+			.as("선택 목록 조회는 DB 를 조회하지 않는다.")
+			.isEqualTo(statementsBefore);
+	}
+}
@@ -0,0 +1,97 @@
+package jpabook.jpashop.service.importer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.catalog.query.ItemOptionDto;
+import jpabook.jpashop.service.catalog.OrderFormCatalog;
+import jpabook.jpashop.service.importer.ImportReport.ImportError;
+
+/**
+ * chunk 마다 자기 트랜잭션으로 커밋하므로 @Transactional 없이 테스트한다.
+ * chunk-size 를 2 로 줄여서 여러 chunk 와 chunk 실패(한 건씩 다시 INSERT)를 만든다.
+ */
+@SpringBootTest(properties = "jpashop.import.chunk-size=2")
+class BulkImportServiceTest {
+
+	@Autowired
+	private BulkImportService bulkImportService;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private OrderFormCatalog orderFormCatalog;
+
+	private final String prefix = "import-" + UUID.randomUUID();
+
+	@Test
+	@DisplayName("CSV 회원 등록: 잘못된 줄과 중복 회원만 실패하고 나머지는 커밋된다.")
+	void import_members_csv() {
+		// given
+		String csv = String.join("\n",
+			"name,city,street,zipcode",
+			"\"" + prefix + "-a\",서울,\"1, 2\",1111", // 2
+			prefix + "-b,,,", // 3
+			",서울,1,1111", // 4: 이름 없음
+			prefix + "-a,부산,1,2222", // 5: 중복 👉 chunk 실패 후 한 건씩
+			prefix + "-c,\"broken,1,1", // 6: 따옴표
+			"",
+			prefix + "-d,대구,1,3333"); // 8
+
+		// when
+		ImportReport report = bulkImportService.importMembers(new StringReader(csv), ImportFormat.CSV);
+
+		// then
+		assertThat(report.getRows()).isEqualTo(6);
+		assertThat(report.getImported()).isEqualTo(3);
+		assertThat(report.getFailed()).isEqualTo(3);
+		assertThat(report.getErrors())
+			.extracting(ImportError::getLine)
+			.containsExactly(4L, 6L, 5L);
+		assertThat(report.getErrors().get(2).getMessage()).isEqualTo("이미 존재하는 회원입니다.");
+
+		List<Member> members = memberRepository.findByName(prefix + "-a");
+		assertThat(members).hasSize(1);
+		assertThat(members.get(0).getAddress().getStreet()).isEqualTo("1, 2");
+		assertThat(memberRepository.findByName(prefix + "-b").get(0).getAddress()).isNull();
+		assertThat(memberRepository.findByName(prefix + "-d")).hasSize(1);
+	}
+
+	@Test
+	@DisplayName("NDJSON 상품 등록: 커밋된 상품은 주문 화면 목록에 바로 반영된다.")
+	void import_books_ndjson() {
+		// given
+		String ndjson = String.join("\n",
+			"{\"name\":\"" + prefix + "-book1\",\"price\":10000,\"stockQuantity\":5,\"author\":\"kim\"}",
+			"{\"name\":\"" + prefix + "-book2\",\"price\":-1}",
+			"not json",
+			"{\"name\":\"" + prefix + "-book3\",\"price\":\"20000\",\"stockQuantity\":null}");
+
+		// when
+		ImportReport report = bulkImportService.importBooks(new StringReader(ndjson), ImportFormat.NDJSON);
+
+		// then
+		assertThat(report.getImported()).isEqualTo(2);
+		assertThat(report.getErrors())
+			.extracting(ImportError::getLine)
+			.containsExactly(2L, 3L);
+
+		assertThat(orderFormCatalog.items())
+			.filteredOn(option -> option.getName().startsWith(prefix))
+			.extracting(ItemOptionDto::getName, ItemOptionDto::getPrice, ItemOptionDto::getStockQuantity)
+			.containsExactlyInAnyOrder(
+				tuple(prefix + "-book1", 10000, 5),
+				tuple(prefix + "-book3", 20000, 0));
+	}
+}
@@ -0,0 +1,250 @@
+package jpabook.jpashop.service.intake;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.service.OrderService;
+
+/**
+ * 주문 접수 대기열(group commit) 부하 테스트 (트랜잭션을 커밋해야 하므로 @Transactional 을 붙이지 않는다.)
+ * - 같은 부하를 OrderService.order(주문마다 커밋)와 OrderIntake(배치마다 커밋)로 보내서 초당 주문 수와 p99 지연을 출력한다.
+ * 👉 메모리 H2 는 fsync 가 없어서 차이가 실제 DB 보다 작게 나온다. 숫자는 참고용이고, 검증은 정확성과 배치당 SQL 수만 한다.
+ */
+@SpringBootTest(properties = "jpashop.order.intake.enabled=true")
+class OrderIntakeLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(OrderIntakeLoadTest.class);
+
+	private static final int THREADS = 16;
+	private static final int ORDERS_PER_THREAD = 50;
+	private static final int MAX_STATEMENTS_PER_BATCH = 20;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderIntake orderIntake;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	@DisplayName("주문마다 커밋하는 경우와 배치로 커밋하는 경우 모두 재고가 정확하다. (처리량, p99 비교)")
+	void direct_vs_intake() throws Exception {
+		int itemCount = 40;
+		int stockQuantity = 1000;
+		Long memberId = createMember();
+		List<Long> directItems = createBooks(itemCount, stockQuantity);
+		List<Long> intakeItems = createBooks(itemCount, stockQuantity);
+
+		// when
+		Result direct = runConcurrently(i -> orderService.order(memberId, directItems.get(i % itemCount), 1));
+		BatchStatements statements = new BatchStatements();
+		Result intake = runConcurrently(i -> orderIntake.submit(memberId, intakeItems.get(i % itemCount), 1).join());
+
+		// then
+		direct.report("direct (commit per order)");
+		intake.report("intake (group commit)");
+
+		int ordersPerItem = THREADS * ORDERS_PER_THREAD / itemCount;
+		for (int i = 0; i < itemCount; i++) {
+			assertThat(findStock(directItems.get(i))).isEqualTo(stockQuantity - ordersPerItem);
+			assertThat(findStock(intakeItems.get(i))).isEqualTo(stockQuantity - ordersPerItem);
+		}
+
+		// 재고 UPDATE 가 주문마다 나가면(UPDATE + refresh SELECT) 배치 크기(최대 THREADS)에 비례해서 늘어난다.
+		assertThat(statements.perBatch())
+			.as("배치 하나의 SQL 수 (조회 2 + 재고 UPDATE 배치 1 + INSERT 배치 + 시퀀스)")
+			.isLessThanOrEqualTo(MAX_STATEMENTS_PER_BATCH);
+	}
+
+	@Test
+	@DisplayName("한 번에 몰린 주문은 큰 배치로 묶이고, 배치 하나의 SQL 수는 주문 수와 상관없다.")
+	void statements_per_batch() {
+		// given
+		int orderCount = 200;
+		int itemCount = 4;
+		Long memberId = createMember();
+		List<Long> itemIds = createBooks(itemCount, 1000);
+		BatchStatements statements = new BatchStatements();
+
+		// when: 요청 스레드처럼 기다리지 않고 한꺼번에 넣는다.
+		List<CompletableFuture<Long>> futures = new ArrayList<>();
+		for (int i = 0; i < orderCount; i++) {
+			futures.add(orderIntake.submit(memberId, itemIds.get(i % itemCount), 1));
+		}
+		futures.forEach(CompletableFuture::join);
+
+		// then
+		assertThat(statements.perBatch()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_BATCH);
+		assertThat(statements.total())
+			.as("주문 %d건에 재고 UPDATE 가 주문마다 나가면 이보다 많다.", orderCount)
+			.isLessThan(orderCount / 2.0);
+		for (Long itemId : itemIds) {
+			assertThat(findStock(itemId)).isEqualTo(1000 - orderCount / itemCount);
+		}
+	}
+
+	@Test
+	@DisplayName("배치 안에서 재고가 부족한 주문만 NotEnoughStockException 으로 실패한다.")
+	void fails_individually() throws Exception {
+		// given
+		int stockQuantity = 100;
+		Long memberId = createMember();
+		Long itemId = createBooks(1, stockQuantity).get(0);
+
+		AtomicInteger success = new AtomicInteger();
+		AtomicInteger soldOut = new AtomicInteger();
+
+		// when
+		runConcurrently(i -> {
+			try {
+				orderIntake.submit(memberId, itemId, 1).join();
+				success.incrementAndGet();
+			} catch (CompletionException e) {
+				assertThat(e.getCause()).isInstanceOf(NotEnoughStockException.class);
+				soldOut.incrementAndGet();
+			}
+		});
+
+		// then
+		assertThat(success.get()).isEqualTo(stockQuantity);
+		assertThat(soldOut.get()).isEqualTo(THREADS * ORDERS_PER_THREAD - stockQuantity);
+		assertThat(findStock(itemId)).isZero();
+	}
+
+	private Result runConcurrently(OrderTask task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		AtomicInteger sequence = new AtomicInteger();
+		long[] latencies = new long[THREADS * ORDERS_PER_THREAD];
+
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			workers.add(() -> {
+				for (int n = 0; n < ORDERS_PER_THREAD; n++) {
+					int i = sequence.getAndIncrement();
+					long start = System.nanoTime();
+					task.run(i);
+					latencies[i] = System.nanoTime() - start;
+				}
+				return null;
+			});
+		}
+
+		long start = System.nanoTime();
+		try {
+			for (Future<Void> future : executor.invokeAll(workers)) {
+				future.get(); // 예상하지 못한 예외는 테스트 실패
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return new Result(System.nanoTime() - start, latencies);
+	}
+
+	private Long createMember() {
+		return tx.execute(status -> {
+			Member member = new Member("intake-" + UUID.randomUUID());
+			member.setAddress(new Address("서울", "1", "1111"));
+			em.persist(member);
+			return member.getId();
+		});
+	}
+
+	private List<Long> createBooks(int count, int stockQuantity) {
+		return tx.execute(status -> {
+			List<Long> ids = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				Book book = new Book();
+				book.setName("intake-book");
+				book.setPrice(10000);
+				book.setStockQuantity(stockQuantity);
+				em.persist(book);
+				ids.add(book.getId());
+			}
+			return ids;
+		});
+	}
+
+	private int findStock(Long itemId) {
+		return tx.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+	}
+
+	/**
+	 * 생성 이후에 처리된 배치의 SQL 수 (OrderIntake 메트릭의 차이)
+	 */
+	private class BatchStatements {
+
+		private final DistributionSummary batches = meterRegistry.summary("jpashop.order.intake.batch");
+		private final DistributionSummary statements = meterRegistry.summary("jpashop.order.intake.statements");
+		private final long batchesBefore = batches.count();
+		private final double statementsBefore = statements.totalAmount();
+
+		private double total() {
+			return statements.totalAmount() - statementsBefore;
+		}
+
+		private double perBatch() {
+			return total() / (batches.count() - batchesBefore);
+		}
+	}
+
+	private static class Result {
+
+		private final long elapsedNanos;
+		private final long[] latencies;
+
+		private Result(long elapsedNanos, long[] latencies) {
+			this.elapsedNanos = elapsedNanos;
+			this.latencies = latencies;
+		}
+
+		private void report(String scenario) {
+			long[] sorted = latencies.clone();
+			Arrays.sort(sorted);
+			long p99 = sorted[(int)Math.ceil(sorted.length * 0.99) - 1];
+
+			log.info("[{}] {} orders, {} threads: {} orders/sec, p99 {} ms", scenario, sorted.length, THREADS,
+				String.format("%.0f", sorted.length / (elapsedNanos / 1_000_000_000.0)), String.format("%.2f", p99 / 1_000_000.0));
+		}
+	}
+
+	@FunctionalInterface
+	private interface OrderTask {
+		void run(int sequence);
+	}
+}
@@ -0,0 +1,45 @@
+package jpabook.jpashop.service.member;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NameBloomFilterTest {
+
+	private static final int NAMES = 100_000;
+
+	@Test
+	@DisplayName("넣은 이름은 항상 있다고 하고, 넣지 않은 이름은 대부분 없다고 한다. (fpp 근처)")
+	void no_false_negative_and_bounded_false_positive() {
+		NameBloomFilter filter = NameBloomFilter.create(NAMES, 0.01);
+		for (int i = 0; i < NAMES; i++) {
+			filter.put("member" + i);
+		}
+
+		for (int i = 0; i < NAMES; i++) {
+			assertThat(filter.mightContain("member" + i)).isTrue();
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < NAMES; i++) {
+			if (filter.mightContain("signup" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat((double)falsePositives / NAMES)
+			.as("목표 1%%, 실제 %d건", falsePositives)
+			.isLessThan(0.02);
+	}
+
+	@Test
+	@DisplayName("크기는 n, p 로 정해진다. (n=100만, p=1% 👉 약 958만 비트, 해시 7개)")
+	void sizing() {
+		NameBloomFilter filter = NameBloomFilter.create(1_000_000, 0.01);
+
+		assertThat(filter.bitSize()).isBetween(9_500_000L, 9_600_000L);
+		assertThat(filter.hashCount()).isEqualTo(7);
+		assertThatThrownBy(() -> NameBloomFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> NameBloomFilter.create(100, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,124 @@
+package jpabook.jpashop.service.outbox;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.outbox.OutboxEvent;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+
+/**
+ * outbox 는 커밋된 이벤트만 발행하므로 @Transactional 없이 서비스 트랜잭션으로 테스트한다.
+ * 스케줄러는 끄고 dispatchBatch 를 직접 호출한다.
+ */
+@SpringBootTest(properties = {
+	"jpashop.outbox.sink=memory",
+	"jpashop.outbox.dispatcher.enabled=false"
+})
+class OutboxDispatcherTest {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private MemberService memberService;
+
+	@Autowired
+	private ItemService itemService;
+
+	@Autowired
+	private OutboxDispatcher outboxDispatcher;
+
+	@Autowired
+	private InMemoryOutboxSink sink;
+
+	@Test
+	@DisplayName("주문/취소 이벤트는 커밋 후 발행되고, 발행에 실패한 배치는 다음 배치에서 다시 발행된다.")
+	void dispatches_committed_order_events() {
+		// given
+		Member member = new Member("outbox-member");
+		memberService.join(member);
+
+		Book book = new Book();
+		book.setName("outbox-book");
+		book.setPrice(10000);
+		book.setStockQuantity(10);
+		itemService.saveItem(book);
+
+		Long orderId = orderService.order(member.getId(), book.getId(), 2);
+		orderService.cancelOrder(orderId);
+
+		// when: sink 실패
+		sink.failNext();
+		outboxDispatcher.dispatchBatch();
+
+		// then
+		assertThat(eventTypesOf(orderId))
+			.as("실패한 배치는 outbox 에 남아 있다.")
+			.isEmpty();
+
+		// when: 재시도
+		drain();
+
+		// then
+		assertThat(eventTypesOf(orderId))
+			.containsExactly(OrderOutbox.ORDER_PLACED, OrderOutbox.ORDER_CANCELED);
+
+		assertThat(outboxDispatcher.dispatchBatch())
+			.as("발행한 이벤트는 outbox 에서 지워진다.")
+			.isZero();
+	}
+
+	private void drain() {
+		while (outboxDispatcher.dispatchBatch() > 0) {
+			// 다른 테스트가 남긴 이벤트까지 모두 발행
+		}
+	}
+
+	private List<String> eventTypesOf(Long orderId) {
+		return sink.events.stream()
+			.filter(event -> event.getAggregateId().equals(orderId))
+			.map(OutboxEvent::getEventType)
+			.toList();
+	}
+
+	static class InMemoryOutboxSink implements OutboxSink {
+
+		private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+		private volatile boolean failNext;
+
+		void failNext() {
+			this.failNext = true;
+		}
+
+		@Override
+		public void publish(List<OutboxEvent> batch) {
+			if (failNext) {
+				failNext = false;
+				throw new IllegalStateException("sink 장애");
+			}
+			events.addAll(batch);
+		}
+	}
+
+	@TestConfiguration
+	static class InMemorySinkConfig {
+
+		@Bean
+		InMemoryOutboxSink inMemoryOutboxSink() {
+			return new InMemoryOutboxSink();
+		}
+	}
+}
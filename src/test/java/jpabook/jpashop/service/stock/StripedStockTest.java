@@ -0,0 +1,79 @@
+package jpabook.jpashop.service.stock;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StripedStockTest {
+
+	@Test
+	@DisplayName("여러 스레드가 동시에 예약해도 재고만큼만 수락된다.")
+	void reserves_exactly_stock_under_contention() throws Exception {
+		// given
+		int stockQuantity = 10_000;
+		StripedStock stock = new StripedStock(8, stockQuantity);
+
+		int threads = 8;
+		int attemptsPerThread = 2_000;
+
+		// when
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Callable<Integer>> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(() -> {
+				int reserved = 0;
+				for (int n = 0; n < attemptsPerThread; n++) {
+					if (stock.tryReserve(1) == StripedStock.Result.RESERVED) {
+						reserved++;
+					}
+				}
+				return reserved;
+			});
+		}
+
+		int reserved = 0;
+		for (Future<Integer> future : executor.invokeAll(workers)) {
+			reserved += future.get();
+		}
+		executor.shutdown();
+
+		// then
+		assertThat(reserved).isEqualTo(stockQuantity);
+		assertThat(stock.available()).isZero();
+		assertThat(stock.drainConsumed()).isEqualTo(stockQuantity);
+	}
+
+	@Test
+	@DisplayName("재고가 여러 칸에 흩어져 있어도 전체 재고 기준으로 판단한다.")
+	void reserves_across_stripes() {
+		// given: 8칸에 1개씩
+		StripedStock stock = new StripedStock(8, 8);
+
+		// when & then
+		assertThat(stock.tryReserve(8)).isEqualTo(StripedStock.Result.RESERVED);
+		assertThat(stock.tryReserve(1)).isEqualTo(StripedStock.Result.INSUFFICIENT);
+	}
+
+	@Test
+	@DisplayName("예약을 취소하면 재고와 DB 반영 차감량이 모두 되돌아간다.")
+	void unreserve() {
+		// given
+		StripedStock stock = new StripedStock(4, 10);
+		stock.tryReserve(3);
+
+		// when
+		stock.unreserve(3);
+
+		// then
+		assertThat(stock.available()).isEqualTo(10);
+		assertThat(stock.drainConsumed()).isZero();
+	}
+}
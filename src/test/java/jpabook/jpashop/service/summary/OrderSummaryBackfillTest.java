@@ -0,0 +1,119 @@
+package jpabook.jpashop.service.summary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.delivery.Delivery;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.member.Member;
+import jpabook.jpashop.domain.order.Order;
+import jpabook.jpashop.domain.order.OrderItem;
+import jpabook.jpashop.domain.order.OrderStatus;
+import jpabook.jpashop.domain.order.OrderSummary;
+import jpabook.jpashop.domain.type.Address;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+
+@SpringBootTest
+@Transactional
+class OrderSummaryBackfillTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private OrderSummaryBackfill orderSummaryBackfill;
+
+	@Autowired
+	private OrderSummaryRepository orderSummaryRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	@DisplayName("order_summary 가 없는 주문은 백필이 주문 생성 때와 같은 값으로 채운다.")
+	void backfills_order_summary() {
+		// given: 조회 모델 이전 주문 (OrderSummaryProjector 를 거치지 않고 저장)
+		Member member = new Member("summary-backfill");
+		member.setAddress(new Address("서울", "강가", "123"));
+		em.persist(member);
+		Book book1 = createBook("summary-book1", 10000);
+		Book book2 = createBook("summary-book2", 20000);
+
+		Delivery delivery = new Delivery();
+		delivery.setAddress(member.getAddress());
+		Order order = Order.createOrder(member, delivery,
+			OrderItem.createOrderItem(book1, 10000, 2),
+			OrderItem.createOrderItem(book2, 20000, 1));
+		em.persist(order);
+		em.flush();
+		em.clear();
+
+		assertThat(em.find(OrderSummary.class, order.getId())).isNull();
+
+		// when
+		long backfilled = orderSummaryBackfill.backfill();
+
+		// then
+		assertThat(backfilled).isGreaterThanOrEqualTo(1);
+		OrderSummary summary = em.find(OrderSummary.class, order.getId());
+		assertThat(summary).isNotNull();
+		assertThat(summary.getMemberName()).isEqualTo("summary-backfill");
+		assertThat(summary.getStatus()).isEqualTo(OrderStatus.ORDER);
+		assertThat(summary.getAddress().getCity()).isEqualTo("서울");
+		assertThat(summary.getItemCount()).isEqualTo(2);
+		assertThat(summary.getTotalPrice()).isEqualTo(40000);
+		assertThat(summary.getItemNames()).contains("summary-book1", "summary-book2");
+
+		assertThat(orderSummaryBackfill.backfill()).as("이미 채운 주문은 다시 채우지 않는다.").isZero();
+	}
+
+	@Test
+	@DisplayName("배송이 없는 주문도 백필하고, chunk 가 꽉 차면 다음 chunk 로 이어간다.")
+	void backfills_orders_without_delivery() {
+		// given: 배송이 없는 옛 주문 + 일반 주문, chunk 크기 1
+		Member member = new Member("summary-no-delivery");
+		em.persist(member);
+		Book book = createBook("summary-book3", 10000);
+
+		Order noDelivery = Order.createOrder(member, new Delivery(), OrderItem.createOrderItem(book, 10000, 1));
+		em.persist(noDelivery);
+		Order withDelivery = Order.createOrder(member, new Delivery(), OrderItem.createOrderItem(book, 10000, 2));
+		em.persist(withDelivery);
+		em.flush();
+		em.createNativeQuery("update orders set delivery_id = null where order_id = :orderId")
+			.setParameter("orderId", noDelivery.getId())
+			.executeUpdate();
+		em.clear();
+
+		OrderSummaryBackfill backfill = new OrderSummaryBackfill(
+			em, orderSummaryRepository, transactionManager, false, 1);
+
+		// when
+		long backfilled = backfill.backfill();
+
+		// then
+		assertThat(backfilled).isGreaterThanOrEqualTo(2);
+		OrderSummary summary = em.find(OrderSummary.class, noDelivery.getId());
+		assertThat(summary).isNotNull();
+		assertThat(summary.getAddress()).isNull();
+		assertThat(summary.getTotalPrice()).isEqualTo(10000);
+		assertThat(em.find(OrderSummary.class, withDelivery.getId())).isNotNull();
+	}
+
+	private Book createBook(String name, int price) {
+		Book book = new Book();
+		book.setName(name);
+		book.setPrice(price);
+		book.setStockQuantity(10);
+		em.persist(book);
+		return book;
+	}
+}